@@ -0,0 +1,91 @@
+package com.turgo.barangayapp.Config;
+
+import com.turgo.barangayapp.Service.ContentVersionService;
+import com.turgo.barangayapp.Service.ContentVersionService.Content;
+import com.turgo.barangayapp.Service.ContentVersionService.Stamp;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Adds ETag / Last-Modified to public collection responses and answers 304
+// before the controller runs, so a revalidation costs no query and no serialization.
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final String PUBLIC_PREFIX = "/api/public/";
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        return resolveContent(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Stamp stamp = contentVersionService.current(resolveContent(request));
+        String etag = stamp.etag();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, stamp.lastModified());
+        // Let browsers keep the body but always revalidate it with us
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (isNotModified(request, etag, stamp.lastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match wins over If-Modified-Since when both are sent
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || etag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            // HTTP dates have second precision
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            // Unparseable date, serve the full response
+            return false;
+        }
+    }
+
+    private Content resolveContent(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PUBLIC_PREFIX)) {
+            return null;
+        }
+
+        String rest = path.substring(PUBLIC_PREFIX.length());
+        int slash = rest.indexOf('/');
+        return Content.fromPath(slash == -1 ? rest : rest.substring(0, slash));
+    }
+}
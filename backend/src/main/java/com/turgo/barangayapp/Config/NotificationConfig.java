@@ -0,0 +1,27 @@
+package com.turgo.barangayapp.Config;
+
+import com.turgo.barangayapp.Service.LoggingNotificationSender;
+import com.turgo.barangayapp.Service.NotificationSender;
+import com.turgo.barangayapp.Service.SmtpNotificationSender;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+@Configuration
+public class NotificationConfig {
+
+    @Value("${app.notifications.from:no-reply@barangay.local}")
+    private String from;
+
+    // Spring Boot only creates a JavaMailSender when spring.mail.host is set
+    @Bean
+    public NotificationSender notificationSender(ObjectProvider<JavaMailSender> mailSender) {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            return new LoggingNotificationSender();
+        }
+        return new SmtpNotificationSender(sender, from);
+    }
+}
@@ -0,0 +1,52 @@
+package com.turgo.barangayapp.Config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Column changes that ddl-auto=update will not make on an existing table.
+// Each step checks the live schema first, so running it on every start is a no-op once applied.
+@Component
+public class SchemaUpgrades {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void upgrade() {
+        try {
+            applicationStatusToEnum();
+        } catch (Exception e) {
+            System.err.println("Schema upgrade failed: " + e.getMessage());
+        }
+    }
+
+    // service_applications.status: free-text VARCHAR -> ENUM. Only case and whitespace are
+    // normalised; if any row holds NULL or another value, the column is left as VARCHAR and the
+    // ids are logged so those applications can be fixed by hand first.
+    private void applicationStatusToEnum() {
+        String type = jdbcTemplate.query(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'service_applications' AND COLUMN_NAME = 'status'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if (type == null || "enum".equalsIgnoreCase(type)) {
+            return;
+        }
+
+        List<Long> unknown = jdbcTemplate.queryForList("SELECT id FROM service_applications " +
+                "WHERE status IS NULL OR UPPER(TRIM(status)) NOT IN ('PENDING', 'APPROVED', 'REJECTED') ORDER BY id", Long.class);
+        if (!unknown.isEmpty()) {
+            System.err.println("Schema upgrade skipped: service_applications.status stays VARCHAR until these " +
+                    unknown.size() + " application(s) have PENDING, APPROVED or REJECTED: " + unknown);
+            return;
+        }
+
+        jdbcTemplate.update("UPDATE service_applications SET status = UPPER(TRIM(status))");
+        jdbcTemplate.execute("ALTER TABLE service_applications " +
+                "MODIFY status ENUM('PENDING','APPROVED','REJECTED') NOT NULL DEFAULT 'PENDING'");
+    }
+}
@@ -3,14 +3,18 @@ package com.turgo.barangayapp.Controller;
 import com.turgo.barangayapp.Model.Announcement;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Service.AnnouncementService; // Import the Service
+import com.turgo.barangayapp.Service.ContentVersionService;
+import com.turgo.barangayapp.Service.PublicSnapshotService;
+import com.turgo.barangayapp.Service.RequestCoalescer;
 import com.turgo.barangayapp.Service.UserServices;
+import com.turgo.barangayapp.dtos.CursorPage;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,9 +29,34 @@ public class AnnouncementController {
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private PublicSnapshotService publicSnapshotService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
     @GetMapping("/public/announcements")
-    public ResponseEntity<List<Announcement>> getAnnouncements() {
-        return ResponseEntity.ok(announcementService.getAllAnnouncements());
+    public ResponseEntity<?> getAnnouncements(HttpServletRequest request) {
+        ResponseEntity<byte[]> snapshot = publicSnapshotService.response(ContentVersionService.Content.ANNOUNCEMENTS, request);
+        if (snapshot != null) {
+            return snapshot; // Pre-rendered bytes
+        }
+        // Concurrent misses for the same version share one load
+        String version = contentVersionService.current(ContentVersionService.Content.ANNOUNCEMENTS).etag();
+        return ResponseEntity.ok(requestCoalescer.load("announcements", version, announcementService::getAllAnnouncements));
+    }
+
+    // GET Public, one page at a time (for infinite scroll)
+    @GetMapping("/public/announcements/page")
+    public ResponseEntity<?> getAnnouncementsPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(announcementService.getAnnouncementPage(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // CREATE
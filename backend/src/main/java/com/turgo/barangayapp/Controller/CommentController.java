@@ -94,7 +94,7 @@ public class CommentController {
             return ResponseEntity.status(403).body(Map.of("error", "Not authorized"));
         }
 
-        commentRepository.delete(comment);
+        commentService.deleteComment(comment);
         return ResponseEntity.ok(Map.of("message", "Comment deleted"));
     }
 }
\ No newline at end of file
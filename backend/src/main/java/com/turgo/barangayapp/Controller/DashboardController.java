@@ -0,0 +1,37 @@
+package com.turgo.barangayapp.Controller;
+
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Service.DashboardCounterService;
+import com.turgo.barangayapp.Service.UserServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:4200")
+public class DashboardController {
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private UserServices userServices;
+
+    // Admin overview read from materialized counters, never from the content tables themselves
+    @GetMapping("/admin/dashboard")
+    public ResponseEntity<?> getDashboard(Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+
+        if (userOpt.isEmpty() || !userOpt.get().isAdmin()) {
+            return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+        }
+
+        return ResponseEntity.ok(dashboardCounterService.summary());
+    }
+}
@@ -1,15 +1,20 @@
 package com.turgo.barangayapp.Controller;
 
-import com.turgo.barangayapp.Model.Event;
 import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Service.ContentVersionService;
 import com.turgo.barangayapp.Service.EventService; // Import Service
+import com.turgo.barangayapp.Service.PublicSnapshotService;
+import com.turgo.barangayapp.Service.RequestCoalescer;
 import com.turgo.barangayapp.Service.UserServices;
+import com.turgo.barangayapp.dtos.CursorPage;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,16 +23,57 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200")
 public class EventController {
 
+    // Past windows are served from the DB, so keep a single request bounded
+    private static final int MAX_RANGE_DAYS = 366;
+
     @Autowired
     private EventService eventService; // Use Service
 
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private PublicSnapshotService publicSnapshotService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
     // GET Public (Filtered by Date)
     @GetMapping("/public/events")
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
-        return ResponseEntity.ok(eventService.getUpcomingEvents());
+    public ResponseEntity<?> getUpcomingEvents(HttpServletRequest request) {
+        ResponseEntity<byte[]> snapshot = publicSnapshotService.response(ContentVersionService.Content.EVENTS, request);
+        if (snapshot != null) {
+            return snapshot; // Pre-rendered bytes
+        }
+        // Concurrent misses for the same version share one load
+        String version = contentVersionService.current(ContentVersionService.Content.EVENTS).etag();
+        return ResponseEntity.ok(requestCoalescer.load("events", version, eventService::getUpcomingEvents));
+    }
+
+    // GET Public, one page at a time (for infinite scroll)
+    @GetMapping("/public/events/page")
+    public ResponseEntity<?> getEventsPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(eventService.getUpcomingEventPage(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // GET Public calendar window [from, to); future windows come from the in-memory upcoming index
+    @GetMapping("/public/events/range")
+    public ResponseEntity<?> getEventsBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "'from' must be before 'to'"));
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Range must not exceed " + MAX_RANGE_DAYS + " days"));
+        }
+        return ResponseEntity.ok(eventService.getEventsBetween(from, to));
     }
 
     // CREATE
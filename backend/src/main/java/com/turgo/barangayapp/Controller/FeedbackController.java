@@ -1,14 +1,16 @@
 package com.turgo.barangayapp.Controller;
 
-import com.turgo.barangayapp.Model.Feedback;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Service.FeedbackService; // Import Service
+import com.turgo.barangayapp.Service.FeedbackTermIndex;
 import com.turgo.barangayapp.Service.UserServices;
+import com.turgo.barangayapp.dtos.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -17,12 +19,17 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200")
 public class FeedbackController {
 
+    private static final int MAX_BULK_FEEDBACK = 500;
+
     @Autowired
     private FeedbackService feedbackService; // Use Service
 
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private FeedbackTermIndex feedbackTermIndex;
+
     @PostMapping("/feedback")
     public ResponseEntity<?> submitFeedback(@RequestBody Map<String, String> request, Authentication authentication) {
         String email = authentication.getName();
@@ -33,8 +40,7 @@ public class FeedbackController {
         }
 
         try {
-            Feedback feedback = feedbackService.submitFeedback(request, userOpt.get());
-            return ResponseEntity.ok(feedback);
+            return ResponseEntity.ok(feedbackService.submitFeedback(request, userOpt.get()));
         } catch (IllegalArgumentException e) {
             // Check specifically for the profanity flag
             if ("PROFANITY_DETECTED".equals(e.getMessage())) {
@@ -47,11 +53,79 @@ public class FeedbackController {
         }
     }
 
+    // Inbox, newest first, one page at a time. read and replied are optional filters.
     @GetMapping("/admin/feedback")
-    public ResponseEntity<?> getAllFeedback(Authentication authentication) {
+    public ResponseEntity<?> getAllFeedback(@RequestParam(required = false) Boolean read, @RequestParam(required = false) Boolean replied, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        try {
+            return ResponseEntity.ok(feedbackService.getInbox(read, replied, cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Near-duplicate groups (SimHash within 3 bits), so repeated complaints are reviewed once
+    @GetMapping("/admin/feedback/duplicates")
+    public ResponseEntity<?> getDuplicateClusters(@RequestParam(defaultValue = "2") int minSize, @RequestParam(defaultValue = "20") int limit, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        return ResponseEntity.ok(feedbackService.getDuplicateClusters(Math.max(minSize, 2), Math.min(Math.max(limit, 1), 100)));
+    }
+
+    // Trending keywords, e.g. ?days=7&limit=20, answered from the in-memory term index
+    @GetMapping("/admin/feedback/trending")
+    public ResponseEntity<?> getTrendingTerms(@RequestParam(defaultValue = "7") int days, @RequestParam(defaultValue = "20") int limit, Authentication authentication) {
         if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
 
-        return ResponseEntity.ok(feedbackService.getAllFeedback());
+        return ResponseEntity.ok(feedbackService.getTrendingTerms(Math.min(Math.max(days, 1), 365), Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @PostMapping("/admin/feedback/trending/rebuild")
+    public ResponseEntity<?> rebuildTrendingTerms(Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        try {
+            feedbackTermIndex.rebuild();
+            return ResponseEntity.ok(Map.of("message", "Keyword index rebuilt"));
+        } catch (Exception e) {
+            System.err.println("Feedback term index rebuild failed: " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("error", "Rebuild failed"));
+        }
+    }
+
+    @GetMapping("/admin/feedback/unread-count")
+    public ResponseEntity<?> getUnreadCount(Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        return ResponseEntity.ok(Map.of("unread", feedbackService.getUnreadCount()));
+    }
+
+    // Bulk actions, body: {"feedbackIds": [1, 2, 3]}. Each is a single statement.
+    @PostMapping("/admin/feedback/bulk-read")
+    public ResponseEntity<?> bulkMarkRead(@RequestBody Map<String, List<Long>> request, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        String invalid = validateBulk(request);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", invalid));
+        }
+
+        int updated = feedbackService.markRead(request.get("feedbackIds").stream().distinct().toList());
+        return ResponseEntity.ok(Map.of("updated", updated, "unread", feedbackService.getUnreadCount()));
+    }
+
+    @PostMapping("/admin/feedback/bulk-delete")
+    public ResponseEntity<?> bulkDeleteFeedback(@RequestBody Map<String, List<Long>> request, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        String invalid = validateBulk(request);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", invalid));
+        }
+
+        int deleted = feedbackService.deleteFeedback(request.get("feedbackIds").stream().distinct().toList());
+        return ResponseEntity.ok(Map.of("deleted", deleted, "unread", feedbackService.getUnreadCount()));
     }
 
     @PostMapping("/admin/feedback/{id}/reply")
@@ -80,6 +154,13 @@ public class FeedbackController {
         return ResponseEntity.notFound().build();
     }
 
+    private String validateBulk(Map<String, List<Long>> request) {
+        List<Long> ids = request.get("feedbackIds");
+        if (ids == null || ids.isEmpty() || ids.contains(null)) return "feedbackIds is required";
+        if (ids.size() > MAX_BULK_FEEDBACK) return "At most " + MAX_BULK_FEEDBACK + " feedback per request";
+        return null;
+    }
+
     private boolean isAdmin(Authentication authentication) {
         if (authentication == null) return false;
         String email = authentication.getName();
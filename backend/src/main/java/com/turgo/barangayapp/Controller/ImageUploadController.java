@@ -1,24 +1,47 @@
 package com.turgo.barangayapp.Controller;
 
-import com.turgo.barangayapp.Service.CloudinaryService;
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Service.ImageGarbageCollector;
+import com.turgo.barangayapp.Service.ImageUploadJobService;
+import com.turgo.barangayapp.Service.ImageUploadService;
+import com.turgo.barangayapp.Service.ImageUploadService.UploadedImage;
+import com.turgo.barangayapp.Service.UserServices;
+import com.turgo.barangayapp.dtos.UploadJobStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ImageUploadController {
 
+    private static final int MAX_ORPHAN_REPORT = 1000;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ImageUploadJobService imageUploadJobService;
+
+    @Autowired
+    private ImageGarbageCollector imageGarbageCollector;
+
+    @Autowired
+    private UserServices userServices;
 
     @PostMapping("/admin/upload-image")
-    public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file, Authentication authentication) {
+    public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file,
+                                         @RequestParam(value = "async", defaultValue = "false") boolean async,
+                                         Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
         }
@@ -39,14 +62,60 @@ public class ImageUploadController {
                 return ResponseEntity.badRequest().body(Map.of("error", "File size must be less than 10MB"));
             }
 
-            String imageUrl = cloudinaryService.uploadImage(file);
-            if (imageUrl == null) {
+            // Async: answer 202 with a job id right away and let the job pool do the work
+            if (async) {
+                UploadJobStatus job = imageUploadJobService.submit(imageUploadService.stage(file));
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/admin/upload-jobs/" + job.jobId()))
+                        .body(job);
+            }
+
+            UploadedImage image = imageUploadService.upload(file);
+            if (image.imageUrl() == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Failed to upload image"));
             }
 
-            return ResponseEntity.ok(Map.of("imageUrl", imageUrl));
+            Map<String, String> body = new HashMap<>();
+            body.put("imageUrl", image.imageUrl());
+            body.put("imageSrcset", image.imageSrcset());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body(Map.of("error", "Too many images are being processed, please try again shortly"));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to upload image: " + e.getMessage()));
         }
     }
+
+    @GetMapping("/admin/upload-jobs/{jobId}")
+    public ResponseEntity<?> getUploadJob(@PathVariable String jobId, Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        UploadJobStatus job = imageUploadJobService.status(jobId);
+        if (job == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Upload job not found"));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    // Dry-run report: uploaded images nothing uses any more and when the collector may delete them
+    @GetMapping("/admin/images/orphans")
+    public ResponseEntity<?> getOrphanedImages(@RequestParam(defaultValue = "100") int limit, Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+        }
+        int size = Math.max(1, Math.min(limit, MAX_ORPHAN_REPORT));
+        return ResponseEntity.ok(Map.of(
+                "dryRun", imageGarbageCollector.isDryRun(),
+                "orphans", imageGarbageCollector.report(size)));
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        if (authentication == null) return false;
+        Optional<User> userOpt = userServices.findByEmail(authentication.getName());
+        return userOpt.isPresent() && userOpt.get().isAdmin();
+    }
 }
@@ -3,10 +3,12 @@ package com.turgo.barangayapp.Controller;
 import com.turgo.barangayapp.Model.Like;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Repository.LikeRepository;
+import com.turgo.barangayapp.Service.DashboardCounterService;
 import com.turgo.barangayapp.Service.UserServices;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -23,6 +25,12 @@ public class LikeController {
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @PostMapping("/likes")
     public ResponseEntity<?> toggleLike(@RequestBody Map<String, String> request, Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -55,8 +63,12 @@ public class LikeController {
             userOpt.get().getId(), entityType, entityId);
         
         if (existingLike.isPresent()) {
-            // Unlike
-            likeRepository.delete(existingLike.get());
+            // Unlike; only the request that actually removed the row moves the counter
+            transactionTemplate.executeWithoutResult(status -> {
+                if (likeRepository.deleteIfPresent(existingLike.get().getId()) > 0) {
+                    dashboardCounterService.likes(existingLike.get().getCreatedAt(), -1);
+                }
+            });
             return ResponseEntity.ok(Map.of("liked", false, "message", "Unliked"));
         } else {
             // Like
@@ -64,7 +76,10 @@ public class LikeController {
             like.setUser(userOpt.get());
             like.setEntityType(entityType);
             like.setEntityId(entityId);
-            likeRepository.save(like);
+            transactionTemplate.executeWithoutResult(status -> {
+                likeRepository.save(like);
+                dashboardCounterService.likes(like.getCreatedAt(), 1);
+            });
             return ResponseEntity.ok(Map.of("liked", true, "message", "Liked"));
         }
     }
@@ -1,14 +1,18 @@
 package com.turgo.barangayapp.Controller;
 
+import com.turgo.barangayapp.Model.ImageOwner;
 import com.turgo.barangayapp.Model.Official;
 import com.turgo.barangayapp.Repository.OfficialRepository;
+import com.turgo.barangayapp.Service.ContentVersionService;
+import com.turgo.barangayapp.Service.ImageReferenceService;
+import com.turgo.barangayapp.Service.PublicSnapshotService;
 import com.turgo.barangayapp.Service.UserServices;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -23,8 +27,21 @@ public class OfficialController {
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private PublicSnapshotService publicSnapshotService;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
     @GetMapping("/public/officials")
-    public ResponseEntity<List<Official>> getOfficials() {
+    public ResponseEntity<?> getOfficials(HttpServletRequest request) {
+        ResponseEntity<byte[]> snapshot = publicSnapshotService.response(ContentVersionService.Content.OFFICIALS, request);
+        if (snapshot != null) {
+            return snapshot; // Pre-rendered bytes
+        }
         return ResponseEntity.ok(officialRepository.findByIsActiveTrueOrderByPositionAsc());
     }
 
@@ -47,7 +64,10 @@ public class OfficialController {
         }
         official.setActive(true);
         
-        return ResponseEntity.ok(officialRepository.save(official));
+        Official saved = officialRepository.save(official);
+        imageReferenceService.track(ImageOwner.OFFICIAL, saved.getId(), saved.getPictureUrl());
+        contentVersionService.bump(ContentVersionService.Content.OFFICIALS);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/admin/officials/{id}")
@@ -72,6 +92,9 @@ public class OfficialController {
         if (request.containsKey("pictureUrl")) official.setPictureUrl(request.get("pictureUrl"));
         if (request.containsKey("isActive")) official.setActive(Boolean.parseBoolean(request.get("isActive")));
         
-        return ResponseEntity.ok(officialRepository.save(official));
+        Official saved = officialRepository.save(official);
+        imageReferenceService.track(ImageOwner.OFFICIAL, saved.getId(), saved.getPictureUrl());
+        contentVersionService.bump(ContentVersionService.Content.OFFICIALS);
+        return ResponseEntity.ok(saved);
     }
 }
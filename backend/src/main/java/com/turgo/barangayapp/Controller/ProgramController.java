@@ -2,13 +2,24 @@ package com.turgo.barangayapp.Controller;
 
 import com.turgo.barangayapp.Model.Program;
 import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Service.ContentVersionService;
 import com.turgo.barangayapp.Service.ProgramService; // Import Service
+import com.turgo.barangayapp.Service.PublicSnapshotService;
+import com.turgo.barangayapp.Service.RequestCoalescer;
+import com.turgo.barangayapp.Service.RosterExportService;
 import com.turgo.barangayapp.Service.UserServices;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.ParticipantSummary;
+import com.turgo.barangayapp.dtos.ProgramJoinResult;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -19,16 +30,46 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200")
 public class ProgramController {
 
+    private static final int MAX_BULK_USERS = 500;
+
     @Autowired
     private ProgramService programService; // Uses Service now
 
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private PublicSnapshotService publicSnapshotService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private RosterExportService rosterExportService;
+
     // --- PUBLIC ---
     @GetMapping("/public/programs")
-    public ResponseEntity<List<Program>> getPrograms() {
-        return ResponseEntity.ok(programService.getAllActivePrograms());
+    public ResponseEntity<?> getPrograms(HttpServletRequest request) {
+        ResponseEntity<byte[]> snapshot = publicSnapshotService.response(ContentVersionService.Content.PROGRAMS, request);
+        if (snapshot != null) {
+            return snapshot; // Pre-rendered bytes
+        }
+        // Concurrent misses for the same version share one load
+        String version = contentVersionService.current(ContentVersionService.Content.PROGRAMS).etag();
+        return ResponseEntity.ok(requestCoalescer.load("programs", version, programService::getAllActivePrograms));
+    }
+
+    // GET Public, one page at a time (for infinite scroll)
+    @GetMapping("/public/programs/page")
+    public ResponseEntity<?> getProgramsPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(programService.getActiveProgramPage(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // --- PARTICIPANT ACTIONS ---
@@ -39,12 +80,12 @@ public class ProgramController {
 
         if (userOpt.isEmpty()) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
 
-        String result = programService.joinProgram(programId, userOpt.get());
+        ProgramJoinResult result = programService.joinProgram(programId, userOpt.get());
 
-        if ("SUCCESS".equals(result)) {
-            return ResponseEntity.ok(Map.of("message", "Successfully joined program"));
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(Map.of("message", "Successfully joined program", "conflicts", result.conflicts()));
         } else {
-            return ResponseEntity.badRequest().body(Map.of("error", result));
+            return ResponseEntity.badRequest().body(Map.of("error", result.status()));
         }
     }
 
@@ -64,22 +105,142 @@ public class ProgramController {
         }
     }
 
+    // --- WAITLIST ---
+    @PostMapping("/programs/{programId}/waitlist")
+    public ResponseEntity<?> joinWaitlist(@PathVariable Long programId, Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+
+        if (userOpt.isEmpty()) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+
+        String result = programService.joinWaitlist(programId, userOpt.get());
+
+        if ("SUCCESS".equals(result)) {
+            return ResponseEntity.ok(Map.of("message", "Added to the waitlist"));
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", result));
+        }
+    }
+
+    @DeleteMapping("/programs/{programId}/waitlist")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long programId, Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+
+        if (userOpt.isEmpty()) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+
+        String result = programService.leaveWaitlist(programId, userOpt.get());
+
+        if ("SUCCESS".equals(result)) {
+            return ResponseEntity.ok(Map.of("message", "Removed from the waitlist"));
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", result));
+        }
+    }
+
+    // The current user's place in every waitlist they are on
+    @GetMapping("/programs/waitlisted")
+    public ResponseEntity<?> getWaitlistPositions(Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+
+        if (userOpt.isEmpty()) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+
+        return ResponseEntity.ok(programService.getWaitlistPositions(userOpt.get().getId()));
+    }
+
+    // Ids the current user has joined, so the list can render Join/Leave without shipping participants
+    @GetMapping("/programs/joined")
+    public ResponseEntity<?> getJoinedPrograms(Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+
+        if (userOpt.isEmpty()) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+
+        return ResponseEntity.ok(programService.getJoinedProgramIds(userOpt.get().getId()));
+    }
+
     // --- ADMIN ACTIONS ---
 
+    @GetMapping("/admin/programs/{programId}/participants")
+    public ResponseEntity<?> getParticipants(@PathVariable Long programId, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        Page<ParticipantSummary> roster = programService.getParticipants(programId, Math.max(page, 0), Math.min(Math.max(size, 1), 200));
+        return ResponseEntity.ok(Map.of(
+                "items", roster.getContent(),
+                "page", roster.getNumber(),
+                "size", roster.getSize(),
+                "totalElements", roster.getTotalElements(),
+                "totalPages", roster.getTotalPages()
+        ));
+    }
+
+    // Bulk add/remove, body: {"userIds": [1, 2, 3]}. Reports the outcome per user.
+    @PostMapping("/admin/programs/{programId}/participants/bulk-add")
+    public ResponseEntity<?> addParticipants(@PathVariable Long programId, @RequestBody Map<String, List<Long>> request, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        String invalid = validateBulk(programId, request);
+        if (invalid != null) return ResponseEntity.badRequest().body(Map.of("error", invalid));
+
+        try {
+            return ResponseEntity.ok(Map.of("results", programService.addParticipants(programId, request.get("userIds"))));
+        } catch (ProgramService.ProgramFullException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Not enough seats left for all selected users"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage())); // Deleted meanwhile
+        }
+    }
+
+    @PostMapping("/admin/programs/{programId}/participants/bulk-remove")
+    public ResponseEntity<?> removeParticipants(@PathVariable Long programId, @RequestBody Map<String, List<Long>> request, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+
+        String invalid = validateBulk(programId, request);
+        if (invalid != null) return ResponseEntity.badRequest().body(Map.of("error", invalid));
+
+        try {
+            return ResponseEntity.ok(Map.of("results", programService.removeParticipants(programId, request.get("userIds"))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage())); // Deleted meanwhile
+        }
+    }
+
+    // Attendance sheet; streamed row by row, never held in memory
+    @GetMapping("/admin/programs/{programId}/participants.csv")
+    public ResponseEntity<StreamingResponseBody> exportParticipants(@PathVariable Long programId, Authentication authentication) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(403).build();
+        if (programService.getProgramById(programId).isEmpty()) return ResponseEntity.notFound().build();
+
+        return ResponseEntity.ok()
+                .contentType(RosterExportService.CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"program-" + programId + "-participants.csv\"")
+                .body(out -> rosterExportService.writeProgramRoster(programId, out));
+    }
+
     @PostMapping("/admin/programs")
     public ResponseEntity<?> createProgram(@Valid @RequestBody Map<String, String> request, Authentication authentication) {
         if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
 
-        return ResponseEntity.ok(programService.createProgram(request));
+        try {
+            return ResponseEntity.ok(programService.createProgram(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PutMapping("/admin/programs/{id}")
     public ResponseEntity<?> updateProgram(@PathVariable Long id, @RequestBody Map<String, String> request, Authentication authentication) {
         if (!isAdmin(authentication)) return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
 
-        return programService.updateProgram(id, request)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return programService.updateProgram(id, request)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @DeleteMapping("/admin/programs/{id}")
@@ -105,6 +266,15 @@ public class ProgramController {
         }
     }
 
+    private String validateBulk(Long programId, Map<String, List<Long>> request) {
+        List<Long> userIds = request.get("userIds");
+        if (userIds == null || userIds.isEmpty()) return "userIds is required";
+        if (userIds.size() > MAX_BULK_USERS) return "At most " + MAX_BULK_USERS + " users per request";
+        if (userIds.contains(null)) return "userIds must not contain null";
+        if (programService.getProgramById(programId).isEmpty()) return "Program not found";
+        return null;
+    }
+
     // Helper to check Admin
     private boolean isAdmin(Authentication authentication) {
         if (authentication == null) return false;
@@ -1,13 +1,31 @@
 package com.turgo.barangayapp.Controller;
 
+import com.turgo.barangayapp.Model.ApplicationStatus;
+import com.turgo.barangayapp.Model.ImageOwner;
 import com.turgo.barangayapp.Model.ServiceApplication;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Repository.ServiceApplicationRepository;
+import com.turgo.barangayapp.Service.ApplicationQueueService;
+import com.turgo.barangayapp.Service.ContentVersionService;
+import com.turgo.barangayapp.Service.ImageReferenceService;
+import com.turgo.barangayapp.Service.ParticipantCountService;
+import com.turgo.barangayapp.Service.PublicSnapshotService;
+import com.turgo.barangayapp.Service.RosterExportService;
+import com.turgo.barangayapp.Service.ServiceApplicationService;
+import com.turgo.barangayapp.Service.ServiceParticipantService;
 import com.turgo.barangayapp.Service.UserServices;
+import com.turgo.barangayapp.dtos.BulkStatusRequest;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.ParticipantSummary;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -18,6 +36,9 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:4200")
 public class ServiceController {
 
+    private static final int MAX_BULK_USERS = 500;
+    private static final int MAX_BULK_APPLICATIONS = 500;
+
     @Autowired
     private ServiceApplicationRepository serviceApplicationRepository;
     
@@ -27,9 +48,68 @@ public class ServiceController {
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private PublicSnapshotService publicSnapshotService;
+
+    @Autowired
+    private ParticipantCountService participantCountService;
+
+    @Autowired
+    private RosterExportService rosterExportService;
+
+    @Autowired
+    private ApplicationQueueService applicationQueueService;
+
+    @Autowired
+    private ServiceApplicationService serviceApplicationService;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
+    @Autowired
+    private ServiceParticipantService serviceParticipantService;
+
     @GetMapping("/public/services")
-    public ResponseEntity<List<com.turgo.barangayapp.Model.Service>> getAvailableServices() {
-        return ResponseEntity.ok(serviceRepository.findByIsActiveTrueOrderByNameAsc());
+    public ResponseEntity<?> getAvailableServices(HttpServletRequest request) {
+        ResponseEntity<byte[]> snapshot = publicSnapshotService.response(ContentVersionService.Content.SERVICES, request);
+        if (snapshot != null) {
+            return snapshot; // Pre-rendered bytes
+        }
+        return ResponseEntity.ok(participantCountService.countServices(serviceRepository.findByIsActiveTrueOrderByNameAsc()));
+    }
+
+    @GetMapping("/services/joined")
+    public ResponseEntity<?> getJoinedServices(Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+        
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        }
+        
+        return ResponseEntity.ok(serviceRepository.findJoinedServiceIds(userOpt.get().getId()));
+    }
+
+    @GetMapping("/admin/services/{serviceId}/participants")
+    public ResponseEntity<?> getParticipants(@PathVariable Long serviceId, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size, Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> adminOpt = userServices.findByEmail(email);
+        
+        if (adminOpt.isEmpty() || !adminOpt.get().isAdmin()) {
+            return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+        }
+        
+        Page<ParticipantSummary> roster = serviceRepository.findParticipants(serviceId, PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200)));
+        return ResponseEntity.ok(Map.of(
+            "items", roster.getContent(),
+            "page", roster.getNumber(),
+            "size", roster.getSize(),
+            "totalElements", roster.getTotalElements(),
+            "totalPages", roster.getTotalPages()
+        ));
     }
 
     @PostMapping("/services/{serviceId}/join")
@@ -46,13 +126,10 @@ public class ServiceController {
             return ResponseEntity.badRequest().body(Map.of("error", "Service not found or inactive"));
         }
         
-        com.turgo.barangayapp.Model.Service service = serviceOpt.get();
-        User user = userOpt.get();
-        if (service.getParticipants().contains(user)) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Already joined this service"));
+        String result = serviceParticipantService.joinService(serviceId, userOpt.get().getId());
+        if (!"SUCCESS".equals(result)) {
+            return ResponseEntity.badRequest().body(Map.of("error", result));
         }
-        service.getParticipants().add(user);
-        serviceRepository.save(service);
         
         return ResponseEntity.ok(Map.of("message", "Successfully joined service"));
     }
@@ -66,19 +143,11 @@ public class ServiceController {
             return ResponseEntity.status(401).body(Map.of("error", "User not found"));
         }
         
-        Optional<com.turgo.barangayapp.Model.Service> serviceOpt = serviceRepository.findById(serviceId);
-        if (serviceOpt.isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Service not found"));
+        String result = serviceParticipantService.leaveService(serviceId, userOpt.get().getId());
+        if (!"SUCCESS".equals(result)) {
+            return ResponseEntity.badRequest().body(Map.of("error", result));
         }
         
-        com.turgo.barangayapp.Model.Service service = serviceOpt.get();
-        User user = userOpt.get();
-        if (!service.getParticipants().contains(user)) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Not a participant of this service"));
-        }
-        service.getParticipants().remove(user);
-        serviceRepository.save(service);
-        
         return ResponseEntity.ok(Map.of("message", "Successfully left service"));
     }
 
@@ -91,19 +160,81 @@ public class ServiceController {
             return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
         }
         
-        Optional<com.turgo.barangayapp.Model.Service> serviceOpt = serviceRepository.findById(serviceId);
-        Optional<User> userOpt = userServices.findById(userId);
+        String result = serviceParticipantService.removeParticipant(serviceId, userId);
+        if (!"SUCCESS".equals(result)) {
+            return ResponseEntity.badRequest().body(Map.of("error", result));
+        }
         
-        if (serviceOpt.isEmpty() || userOpt.isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Service or user not found"));
+        return ResponseEntity.ok(Map.of("message", "Participant removed successfully"));
+    }
+
+    // Bulk add/remove, body: {"userIds": [1, 2, 3]}. Reports the outcome per user.
+    @PostMapping("/admin/services/{serviceId}/participants/bulk-add")
+    public ResponseEntity<?> addParticipants(@PathVariable Long serviceId, @RequestBody Map<String, List<Long>> request, Authentication authentication) {
+        ResponseEntity<?> invalid = validateBulk(serviceId, request, authentication);
+        if (invalid != null) {
+            return invalid;
         }
         
-        com.turgo.barangayapp.Model.Service service = serviceOpt.get();
-        User user = userOpt.get();
-        service.getParticipants().remove(user);
-        serviceRepository.save(service);
+        try {
+            return ResponseEntity.ok(Map.of("results", serviceParticipantService.addParticipants(serviceId, request.get("userIds"))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage())); // Deleted meanwhile
+        }
+    }
+
+    @PostMapping("/admin/services/{serviceId}/participants/bulk-remove")
+    public ResponseEntity<?> removeParticipants(@PathVariable Long serviceId, @RequestBody Map<String, List<Long>> request, Authentication authentication) {
+        ResponseEntity<?> invalid = validateBulk(serviceId, request, authentication);
+        if (invalid != null) {
+            return invalid;
+        }
         
-        return ResponseEntity.ok(Map.of("message", "Participant removed successfully"));
+        try {
+            return ResponseEntity.ok(Map.of("results", serviceParticipantService.removeParticipants(serviceId, request.get("userIds"))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage())); // Deleted meanwhile
+        }
+    }
+
+    private ResponseEntity<?> validateBulk(Long serviceId, Map<String, List<Long>> request, Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> adminOpt = userServices.findByEmail(email);
+        
+        if (adminOpt.isEmpty() || !adminOpt.get().isAdmin()) {
+            return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+        }
+        
+        List<Long> userIds = request.get("userIds");
+        if (userIds == null || userIds.isEmpty() || userIds.contains(null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "userIds is required"));
+        }
+        if (userIds.size() > MAX_BULK_USERS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BULK_USERS + " users per request"));
+        }
+        if (!serviceRepository.existsById(serviceId)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Service not found"));
+        }
+        return null;
+    }
+
+    // Attendance sheet; streamed row by row, never held in memory
+    @GetMapping("/admin/services/{serviceId}/participants.csv")
+    public ResponseEntity<StreamingResponseBody> exportParticipants(@PathVariable Long serviceId, Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> adminOpt = userServices.findByEmail(email);
+        
+        if (adminOpt.isEmpty() || !adminOpt.get().isAdmin()) {
+            return ResponseEntity.status(403).build();
+        }
+        if (!serviceRepository.existsById(serviceId)) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(RosterExportService.CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"service-" + serviceId + "-participants.csv\"")
+                .body(out -> rosterExportService.writeServiceRoster(serviceId, out));
     }
 
     @PostMapping("/services/apply")
@@ -115,19 +246,8 @@ public class ServiceController {
             return ResponseEntity.status(401).body(Map.of("error", "User not found"));
         }
         
-        ServiceApplication application = new ServiceApplication();
-        application.setServiceType(request.get("serviceType"));
-        application.setAdditionalInfo(request.get("additionalInfo"));
-        application.setUser(userOpt.get());
-        application.setStatus("PENDING");
-        application.setNotificationSent(false);
-        
-        ServiceApplication saved = serviceApplicationRepository.save(application);
-        
-        // In a real app, you would send an email notification here
-        // For now, we'll just mark it as notification sent
-        saved.setNotificationSent(true);
-        serviceApplicationRepository.save(saved);
+        // The confirmation email is queued in the same transaction and sent by OutboxDispatcher
+        ServiceApplication saved = serviceApplicationService.submit(userOpt.get(), request.get("serviceType"), request.get("additionalInfo"));
         
         return ResponseEntity.ok(Map.of(
             "message", "Service application submitted successfully. You will be notified via email.",
@@ -147,8 +267,9 @@ public class ServiceController {
         return ResponseEntity.ok(serviceApplicationRepository.findByUserIdOrderBySubmittedAtDesc(userOpt.get().getId()));
     }
 
+    // Admin queue, newest first, one page at a time. status and serviceType are optional filters.
     @GetMapping("/admin/services/applications")
-    public ResponseEntity<?> getAllApplications(Authentication authentication) {
+    public ResponseEntity<?> getAllApplications(@RequestParam(required = false) String status, @RequestParam(required = false) String serviceType, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, Authentication authentication) {
         String email = authentication.getName();
         Optional<User> userOpt = userServices.findByEmail(email);
         
@@ -156,7 +277,13 @@ public class ServiceController {
             return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
         }
         
-        return ResponseEntity.ok(serviceApplicationRepository.findAllByOrderBySubmittedAtDesc());
+        try {
+            ApplicationStatus statusFilter = status == null || status.isBlank() ? null : ApplicationStatus.parse(status);
+            String typeFilter = serviceType == null || serviceType.isBlank() ? null : serviceType;
+            return ResponseEntity.ok(applicationQueueService.getPage(statusFilter, typeFilter, cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PutMapping("/admin/services/applications/{id}/status")
@@ -168,18 +295,53 @@ public class ServiceController {
             return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
         }
         
-        Optional<ServiceApplication> appOpt = serviceApplicationRepository.findById(id);
-        if (appOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        ApplicationStatus newStatus;
+        try {
+            newStatus = ApplicationStatus.parse(request.get("status"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
         
-        ServiceApplication application = appOpt.get();
-        application.setStatus(request.get("status"));
-        serviceApplicationRepository.save(application);
+        String result = serviceApplicationService.updateStatus(id, newStatus);
+        if ("Application not found".equals(result)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!"SUCCESS".equals(result)) {
+            return ResponseEntity.status(409).body(Map.of("error", result));
+        }
         
         return ResponseEntity.ok(Map.of("message", "Application status updated"));
     }
 
+    // Bulk review, body: {"applicationIds": [1, 2, 3], "status": "APPROVED"}. Only PENDING applications
+    // move; each id gets UPDATED, NOT_FOUND or INVALID_TRANSITION, and every update is announced by email.
+    @PostMapping("/admin/services/applications/bulk-status")
+    public ResponseEntity<?> bulkUpdateApplicationStatus(@RequestBody BulkStatusRequest request, Authentication authentication) {
+        String email = authentication.getName();
+        Optional<User> userOpt = userServices.findByEmail(email);
+        
+        if (userOpt.isEmpty() || !userOpt.get().isAdmin()) {
+            return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
+        }
+        
+        List<Long> applicationIds = request.getApplicationIds();
+        if (applicationIds == null || applicationIds.isEmpty() || applicationIds.contains(null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "applicationIds is required"));
+        }
+        if (applicationIds.size() > MAX_BULK_APPLICATIONS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BULK_APPLICATIONS + " applications per request"));
+        }
+        
+        ApplicationStatus newStatus;
+        try {
+            newStatus = ApplicationStatus.parse(request.getStatus());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        
+        return ResponseEntity.ok(Map.of("results", serviceApplicationService.bulkUpdateStatus(applicationIds.stream().distinct().toList(), newStatus)));
+    }
+
     @PostMapping("/admin/services")
     public ResponseEntity<?> createService(@RequestBody Map<String, String> request, Authentication authentication) {
         String email = authentication.getName();
@@ -194,10 +356,14 @@ public class ServiceController {
         service.setDescription(request.get("description"));
         if (request.containsKey("imageUrl")) {
             service.setImageUrl(request.get("imageUrl"));
+            service.setImageSrcset(request.get("imageSrcset"));
         }
         service.setActive(true);
         
-        return ResponseEntity.ok(serviceRepository.save(service));
+        com.turgo.barangayapp.Model.Service saved = serviceRepository.save(service);
+        imageReferenceService.track(ImageOwner.SERVICE, saved.getId(), saved.getImageUrl());
+        contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/admin/services/{id}")
@@ -217,10 +383,16 @@ public class ServiceController {
         com.turgo.barangayapp.Model.Service service = serviceOpt.get();
         if (request.containsKey("name")) service.setName(request.get("name"));
         if (request.containsKey("description")) service.setDescription(request.get("description"));
-        if (request.containsKey("imageUrl")) service.setImageUrl(request.get("imageUrl"));
+        if (request.containsKey("imageUrl")) {
+            service.setImageUrl(request.get("imageUrl"));
+            service.setImageSrcset(request.get("imageSrcset"));
+        }
         if (request.containsKey("isActive")) service.setActive(Boolean.parseBoolean(request.get("isActive")));
         
-        return ResponseEntity.ok(serviceRepository.save(service));
+        com.turgo.barangayapp.Model.Service saved = serviceRepository.save(service);
+        imageReferenceService.track(ImageOwner.SERVICE, saved.getId(), saved.getImageUrl());
+        contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/admin/services/{id}")
@@ -233,6 +405,8 @@ public class ServiceController {
         }
         
         serviceRepository.deleteById(id);
+        imageReferenceService.untrack(ImageOwner.SERVICE, id);
+        contentVersionService.bump(ContentVersionService.Content.SERVICES);
         return ResponseEntity.ok(Map.of("message", "Service deleted"));
     }
 }
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "announcements")
+@Table(name = "announcements", indexes = {
+    @Index(name = "idx_announcements_event_date_id", columnList = "event_date, id")
+})
 public class Announcement {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +25,10 @@ public class Announcement {
     private LocalDateTime eventDate;
     
     private String imageUrl;
+
+    // Responsive renditions as an <img srcset> value (url 320w, url 640w, ...); null when there are none
+    @Column(length = 2048)
+    private String imageSrcset;
     
     @ManyToOne
     @JoinColumn(name = "created_by_id")
@@ -86,4 +92,12 @@ public class Announcement {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
 }
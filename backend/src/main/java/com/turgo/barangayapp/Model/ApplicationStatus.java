@@ -0,0 +1,25 @@
+package com.turgo.barangayapp.Model;
+
+// Lifecycle of a ServiceApplication. Stored as a MySQL ENUM (1 byte per row).
+public enum ApplicationStatus {
+    PENDING,
+    APPROVED,
+    REJECTED;
+
+    // Review is one-way: a pending application is approved or rejected, nothing else moves
+    public boolean canTransitionTo(ApplicationStatus target) {
+        return this == PENDING && (target == APPROVED || target == REJECTED);
+    }
+
+    // Case-insensitive; throws IllegalArgumentException for anything else
+    public static ApplicationStatus parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + value);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.turgo.barangayapp.Model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+// One materialized count for the admin dashboard, e.g. ("applications", "PENDING|Barangay Clearance")
+// or ("likes", "2026-03-14"). Written only through DashboardCounterService.
+@Entity
+@Table(name = "dashboard_counters")
+@IdClass(DashboardCounter.Key.class)
+public class DashboardCounter {
+    @Id
+    @Column(length = 32)
+    private String metric;
+
+    @Id
+    @Column(length = 191)
+    private String dimension;
+
+    @Column(nullable = false)
+    private long total;
+
+    public DashboardCounter() {
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public static class Key implements Serializable {
+        private String metric;
+        private String dimension;
+
+        public Key() {
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(metric, key.metric) && Objects.equals(dimension, key.dimension);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metric, dimension);
+        }
+    }
+}
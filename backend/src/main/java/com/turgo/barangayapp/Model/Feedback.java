@@ -1,10 +1,14 @@
 package com.turgo.barangayapp.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+    @Index(name = "idx_feedback_submitted", columnList = "submitted_at, id"),
+    @Index(name = "idx_feedback_read_submitted", columnList = "is_read, submitted_at, id")
+})
 public class Feedback {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +32,10 @@ public class Feedback {
     @Column
     private LocalDateTime repliedAt;
 
+    // 64-bit SimHash of the message (see FeedbackSimHash); null only for rows not yet backfilled
+    @JsonIgnore
+    private Long simhash;
+
     public Feedback() {
     }
 
@@ -86,4 +94,12 @@ public class Feedback {
     public void setRepliedAt(LocalDateTime repliedAt) {
         this.repliedAt = repliedAt;
     }
+
+    public Long getSimhash() {
+        return simhash;
+    }
+
+    public void setSimhash(Long simhash) {
+        this.simhash = simhash;
+    }
 }
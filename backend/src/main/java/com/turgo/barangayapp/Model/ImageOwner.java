@@ -0,0 +1,10 @@
+package com.turgo.barangayapp.Model;
+
+// Kinds of rows that can point at an uploaded image (see ImageReference)
+public enum ImageOwner {
+    EVENT,
+    ANNOUNCEMENT,
+    PROGRAM,
+    SERVICE,
+    OFFICIAL
+}
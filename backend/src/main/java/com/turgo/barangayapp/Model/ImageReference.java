@@ -0,0 +1,55 @@
+package com.turgo.barangayapp.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// The image URL each content row currently uses. Kept in step by ImageReferenceService on every
+// write and rebuilt from the content tables periodically; ImageGarbageCollector only deletes
+// stored images no row here points at.
+@Entity
+@Table(name = "image_references", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_image_references_owner", columnNames = {"owner_type", "owner_id"})
+}, indexes = {
+    @Index(name = "idx_image_references_url", columnList = "image_url")
+})
+public class ImageReference {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 20)
+    private ImageOwner ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "image_url", nullable = false, length = 768)
+    private String imageUrl;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public ImageReference() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ImageOwner getOwnerType() {
+        return ownerType;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.turgo.barangayapp.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// An image URL that lost its last reference (or never got one) and is waiting to be checked
+// and deleted by ImageGarbageCollector. Re-referencing the URL takes it off the queue.
+@Entity
+@Table(name = "image_removals", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_image_removals_url", columnNames = {"image_url"})
+}, indexes = {
+    @Index(name = "idx_image_removals_due", columnList = "enqueued_at")
+})
+public class ImageRemoval {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "image_url", nullable = false, length = 768)
+    private String imageUrl;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt = LocalDateTime.now();
+
+    public ImageRemoval() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public LocalDateTime getEnqueuedAt() {
+        return enqueuedAt;
+    }
+}
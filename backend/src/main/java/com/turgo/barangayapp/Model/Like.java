@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "entity_type", "entity_id"})
+}, indexes = {
+    @Index(name = "idx_likes_created_at", columnList = "created_at")
 })
 public class Like {
     @Id
@@ -0,0 +1,8 @@
+package com.turgo.barangayapp.Model;
+
+// Delivery state of a NotificationOutbox row. FAILED means retries are exhausted.
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
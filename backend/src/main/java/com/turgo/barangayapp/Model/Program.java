@@ -1,12 +1,15 @@
 package com.turgo.barangayapp.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "programs")
+@Table(name = "programs", indexes = {
+    @Index(name = "idx_programs_end_start_id", columnList = "end_date, start_date, id")
+})
 public class Program {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,14 +32,29 @@ public class Program {
     
     @Column(columnDefinition = "TEXT")
     private String imageUrl;
+
+    // Responsive renditions as an <img srcset> value (url 320w, url 640w, ...); null when there are none
+    @Column(length = 2048)
+    private String imageSrcset;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Never serialized: public lists expose participantCount, admins use the paginated roster
+    @JsonIgnore
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "program_participants",
         joinColumns = @JoinColumn(name = "program_id"),
         inverseJoinColumns = @JoinColumn(name = "user_id")
     )
     private Set<User> participants = new HashSet<>();
+
+    // Maximum participants; null means unlimited
+    private Integer capacity;
+
+    // Seat counter, only ever changed by ProgramRepository's conditional UPDATEs so that
+    // saving a stale entity can never overwrite concurrent joins
+    @JsonIgnore
+    @Column(name = "seats_taken", nullable = false, insertable = false, updatable = false, columnDefinition = "int not null default 0")
+    private int seatsTaken;
     
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -100,6 +118,18 @@ public class Program {
         this.participants = participants;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getSeatsTaken() {
+        return seatsTaken;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -115,4 +145,12 @@ public class Program {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
 }
@@ -0,0 +1,63 @@
+package com.turgo.barangayapp.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One resident waiting for a seat in a full program. The identity id is the FIFO order.
+@Entity
+@Table(name = "program_waitlist", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"program_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_program_waitlist_program_id", columnList = "program_id, id")
+})
+public class ProgramWaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "program_id", nullable = false)
+    private Program program;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ProgramWaitlistEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    public void setProgram(Program program) {
+        this.program = program;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.turgo.barangayapp.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.util.HashSet;
 import java.util.Set;
@@ -18,11 +19,17 @@ public class Service {
     private String description;
     
     private String imageUrl;
+
+    // Responsive renditions as an <img srcset> value (url 320w, url 640w, ...); null when there are none
+    @Column(length = 2048)
+    private String imageSrcset;
     
     @Column(nullable = false)
     private boolean isActive = true;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Never serialized: public lists expose participantCount, admins use the paginated roster
+    @JsonIgnore
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "service_participants",
         joinColumns = @JoinColumn(name = "service_id"),
@@ -73,6 +80,14 @@ public class Service {
         this.imageUrl = imageUrl;
     }
 
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
+
     public Set<User> getParticipants() {
         return participants;
     }
@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "service_applications")
+@Table(name = "service_applications", indexes = {
+    @Index(name = "idx_service_applications_submitted", columnList = "submitted_at, id"),
+    @Index(name = "idx_service_applications_status_submitted", columnList = "status, submitted_at, id"),
+    @Index(name = "idx_service_applications_type_submitted", columnList = "service_type, submitted_at, id"),
+    @Index(name = "idx_service_applications_type_status_submitted", columnList = "service_type, status, submitted_at, id"),
+    @Index(name = "idx_service_applications_user_submitted", columnList = "user_id, submitted_at")
+})
 public class ServiceApplication {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,8 +22,9 @@ public class ServiceApplication {
     @Column(columnDefinition = "TEXT")
     private String additionalInfo;
     
-    @Column(nullable = false)
-    private String status = "PENDING"; // PENDING, APPROVED, REJECTED
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "enum('PENDING','APPROVED','REJECTED') not null default 'PENDING'")
+    private ApplicationStatus status = ApplicationStatus.PENDING;
     
     @Column(nullable = false)
     private LocalDateTime submittedAt = LocalDateTime.now();
@@ -55,11 +62,11 @@ public class ServiceApplication {
         this.additionalInfo = additionalInfo;
     }
 
-    public String getStatus() {
+    public ApplicationStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(ApplicationStatus status) {
         this.status = status;
     }
 
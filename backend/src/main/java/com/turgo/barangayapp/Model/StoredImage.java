@@ -0,0 +1,85 @@
+package com.turgo.barangayapp.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One uploaded image per content hash and storage backend, so re-uploading the same logo or
+// poster hands back the URLs we already have instead of storing the bytes again.
+@Entity
+@Table(name = "stored_images", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stored_images_hash", columnNames = {"sha256", "storage"})
+}, indexes = {
+    @Index(name = "idx_stored_images_url", columnList = "image_url")
+})
+public class StoredImage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hex SHA-256 of the uploaded bytes
+    @Column(nullable = false, length = 64, columnDefinition = "char(64) not null")
+    private String sha256;
+
+    // ImageStorage backend the URLs point into (cloudinary | local)
+    @Column(nullable = false, length = 20)
+    private String storage;
+
+    // Indexable width (768 utf8mb4 chars is InnoDB's 3072-byte key limit); the garbage collector looks rows up by URL
+    @Column(name = "image_url", nullable = false, length = 768)
+    private String imageUrl;
+
+    @Column(length = 2048)
+    private String imageSrcset;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Last time a duplicate upload was answered with this row; null means createdAt
+    private LocalDateTime lastUsedAt;
+
+    public StoredImage() {
+    }
+
+    public StoredImage(String sha256, String storage, String imageUrl, String imageSrcset, long sizeBytes) {
+        this.sha256 = sha256;
+        this.storage = storage;
+        this.imageUrl = imageUrl;
+        this.imageSrcset = imageSrcset;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getStorage() {
+        return storage;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastUsedAt() {
+        return lastUsedAt != null ? lastUsedAt : createdAt;
+    }
+}
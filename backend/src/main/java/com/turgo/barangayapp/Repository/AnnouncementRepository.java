@@ -1,7 +1,10 @@
 package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Announcement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,4 +14,14 @@ import java.util.List;
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
 
     List<Announcement> findByEventDateAfterOrderByEventDateAsc(LocalDateTime now);
+
+    // Keyset pagination over (eventDate, id), backed by idx_announcements_event_date_id
+    @Query("SELECT a FROM Announcement a WHERE a.eventDate > :now ORDER BY a.eventDate ASC, a.id ASC")
+    List<Announcement> findUpcomingPage(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT a FROM Announcement a WHERE a.eventDate > :now " +
+            "AND (a.eventDate > :afterDate OR (a.eventDate = :afterDate AND a.id > :afterId)) " +
+            "ORDER BY a.eventDate ASC, a.id ASC")
+    List<Announcement> findUpcomingPageAfter(@Param("now") LocalDateTime now, @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") Long afterId, Pageable pageable);
 }
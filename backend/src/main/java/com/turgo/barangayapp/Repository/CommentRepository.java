@@ -2,10 +2,18 @@ package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByEntityTypeAndEntityIdOrderByCreatedAtAsc(String entityType, Long entityId);
+
+    // 0 when a concurrent delete removed it first. Call inside a transaction.
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id = :id")
+    int deleteIfPresent(@Param("id") Long id);
 }
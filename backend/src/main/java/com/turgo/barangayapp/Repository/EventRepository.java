@@ -1,7 +1,10 @@
 package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,4 +12,18 @@ import java.util.List;
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByEventDateAfterOrderByEventDateAsc(LocalDateTime now);
+
+    // Calendar window [from, to), a range scan on idx_events_event_date_id
+    @Query("SELECT e FROM Event e WHERE e.eventDate >= :from AND e.eventDate < :to ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Keyset pagination over (eventDate, id), backed by idx_events_event_date_id
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :now ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findUpcomingPage(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :now " +
+            "AND (e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findUpcomingPageAfter(@Param("now") LocalDateTime now, @Param("afterDate") LocalDateTime afterDate,
+                                      @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -2,10 +2,29 @@ package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Feedback;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findAllByOrderBySubmittedAtDesc();
+
+    // Bulk actions: one statement each. Call inside a transaction.
+    @Modifying
+    @Query("UPDATE Feedback f SET f.isRead = true WHERE f.id IN :ids AND f.isRead = false")
+    int markRead(@Param("ids") List<Long> ids);
+
+    // Locks the rows about to be deleted so the unread count stays exact
+    @Query(value = "SELECT COUNT(*) FROM feedback WHERE id IN (:ids) AND is_read = false FOR UPDATE", nativeQuery = true)
+    long lockUnreadCount(@Param("ids") List<Long> ids);
+
+    // Text of rows about to be deleted, for the in-memory term index
+    @Query("SELECT f.id AS id, f.message AS message, f.submittedAt AS submittedAt FROM Feedback f WHERE f.id IN :ids")
+    List<FeedbackText> findTexts(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Feedback f WHERE f.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,9 @@
+package com.turgo.barangayapp.Repository;
+
+import java.time.LocalDateTime;
+
+public interface FeedbackText {
+    Long getId();
+    String getMessage();
+    LocalDateTime getSubmittedAt();
+}
@@ -2,6 +2,9 @@ package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +14,9 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     List<Like> findByEntityTypeAndEntityId(String entityType, Long entityId);
     Optional<Like> findByUserIdAndEntityTypeAndEntityId(Long userId, String entityType, Long entityId);
     long countByEntityTypeAndEntityId(String entityType, Long entityId);
+
+    // 0 when a concurrent unlike removed it first. Call inside a transaction.
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.id = :id")
+    int deleteIfPresent(@Param("id") Long id);
 }
@@ -0,0 +1,8 @@
+package com.turgo.barangayapp.Repository;
+
+// Projection for bulk participant validation: a requested user that exists, and whether
+// they are already in the program/service (memberships is 0 or 1)
+public interface MembershipCheck {
+    Long getId();
+    Long getMemberships();
+}
@@ -0,0 +1,49 @@
+package com.turgo.barangayapp.Repository;
+
+import com.turgo.barangayapp.Model.NotificationOutbox;
+import com.turgo.barangayapp.Model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Locks due rows; SKIP LOCKED lets several app instances claim disjoint batches. Call inside a transaction.
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Pushes claimed rows out of the due window while they are being sent; if the sender dies they come back
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.nextAttemptAt = :leaseUntil WHERE o.id IN :ids")
+    int lease(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox o SET o.status = com.turgo.barangayapp.Model.OutboxStatus.SENT, " +
+            "o.attempts = o.attempts + 1, o.sentAt = :sentAt, o.lastError = null WHERE o.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox o SET o.status = :status, o.attempts = :attempts, " +
+            "o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("status") OutboxStatus status, @Param("attempts") int attempts,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    long countByStatus(OutboxStatus status);
+
+    List<NotificationOutbox> findByApplicationIdOrderByIdAsc(Long applicationId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationOutbox o WHERE o.applicationId = :applicationId")
+    int deleteByApplication(@Param("applicationId") Long applicationId);
+}
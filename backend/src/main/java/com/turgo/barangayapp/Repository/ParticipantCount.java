@@ -0,0 +1,7 @@
+package com.turgo.barangayapp.Repository;
+
+// Projection for the grouped participant COUNT queries
+public interface ParticipantCount {
+    Long getId();
+    Long getParticipantCount();
+}
@@ -1,13 +1,120 @@
 package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Program;
+import com.turgo.barangayapp.dtos.ParticipantSummary;
+import com.turgo.barangayapp.dtos.ScheduleConflict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProgramRepository extends JpaRepository<Program, Long> {
     List<Program> findByEndDateAfterOrderByStartDateAsc(LocalDateTime now);
+
+    // Keyset pagination over (startDate, id) among programs that have not ended.
+    // idx_programs_end_start_id turns the endDate filter into a range scan over running programs only.
+    @Query("SELECT p FROM Program p WHERE p.endDate > :now ORDER BY p.startDate ASC, p.id ASC")
+    List<Program> findActivePage(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT p FROM Program p WHERE p.endDate > :now " +
+            "AND (p.startDate > :afterDate OR (p.startDate = :afterDate AND p.id > :afterId)) " +
+            "ORDER BY p.startDate ASC, p.id ASC")
+    List<Program> findActivePageAfter(@Param("now") LocalDateTime now, @Param("afterDate") LocalDateTime afterDate,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, COUNT(u) AS participantCount FROM Program p JOIN p.participants u WHERE p.id IN :ids GROUP BY p.id")
+    List<ParticipantCount> countParticipants(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Program p JOIN p.participants u WHERE u.id = :userId")
+    List<Long> findJoinedProgramIds(@Param("userId") Long userId);
+
+    @Query("SELECT new com.turgo.barangayapp.dtos.ScheduleConflict(p.id, p.name, p.startDate, p.endDate) " +
+            "FROM Program p JOIN p.participants u WHERE u.id = :userId AND p.endDate > :now")
+    List<ScheduleConflict> findJoinedSchedules(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT new com.turgo.barangayapp.dtos.ParticipantSummary(u.id, u.fullName, u.email, u.phoneNumber) " +
+            "FROM Program p JOIN p.participants u WHERE p.id = :programId ORDER BY u.fullName ASC, u.id ASC",
+            countQuery = "SELECT COUNT(u) FROM Program p JOIN p.participants u WHERE p.id = :programId")
+    Page<ParticipantSummary> findParticipants(@Param("programId") Long programId, Pageable pageable);
+
+    // Single-row writes on the join table; (program_id, user_id) is the primary key, so a
+    // duplicate join fails with a constraint violation instead of a lost update
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO program_participants (program_id, user_id) VALUES (:programId, :userId)", nativeQuery = true)
+    int insertParticipant(@Param("programId") Long programId, @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM program_participants WHERE program_id = :programId AND user_id = :userId", nativeQuery = true)
+    int deleteParticipant(@Param("programId") Long programId, @Param("userId") Long userId);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM Program p JOIN p.participants u WHERE p.id = :programId AND u.id = :userId")
+    boolean isParticipant(@Param("programId") Long programId, @Param("userId") Long userId);
+
+    // --- BULK ---
+    // One query: which of the ids exist, and which of those are already in
+    @Query("SELECT u.id AS id, (SELECT COUNT(m) FROM Program x JOIN x.participants m WHERE x.id = :programId AND m.id = u.id) AS memberships " +
+            "FROM User u WHERE u.id IN :userIds")
+    List<MembershipCheck> checkMemberships(@Param("programId") Long programId, @Param("userIds") Collection<Long> userIds);
+
+    // One multi-row INSERT. Callers hold lockForSeats and pass only non-members, so nothing is
+    // silently skipped: a duplicate or a missing program fails the statement. Users deleted in
+    // the meantime drop out of the SELECT.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO program_participants (program_id, user_id) SELECT :programId, u.id FROM users u WHERE u.id IN (:userIds)", nativeQuery = true)
+    int insertParticipants(@Param("programId") Long programId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM program_participants WHERE program_id = :programId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteParticipants(@Param("programId") Long programId, @Param("userIds") Collection<Long> userIds);
+
+    // --- SEATS ---
+    // Takes a seat only while one is free; the row lock lasts just until the join commits
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE programs SET seats_taken = seats_taken + 1 " +
+            "WHERE id = :programId AND (capacity IS NULL OR seats_taken < capacity)", nativeQuery = true)
+    int reserveSeat(@Param("programId") Long programId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE programs SET seats_taken = seats_taken - 1 WHERE id = :programId AND seats_taken > 0", nativeQuery = true)
+    int releaseSeat(@Param("programId") Long programId);
+
+    // Bulk variants: all requested seats or none
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE programs SET seats_taken = seats_taken + :count " +
+            "WHERE id = :programId AND (capacity IS NULL OR seats_taken + :count <= capacity)", nativeQuery = true)
+    int reserveSeats(@Param("programId") Long programId, @Param("count") int count);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE programs SET seats_taken = GREATEST(seats_taken - :count, 0) WHERE id = :programId", nativeQuery = true)
+    int releaseSeats(@Param("programId") Long programId, @Param("count") int count);
+
+    // Serializes membership and seat changes for one program without locking the table.
+    // Taken (or reserveSeat's row lock) before touching program_participants, never after.
+    @Transactional
+    @Query(value = "SELECT id FROM programs WHERE id = :programId FOR UPDATE", nativeQuery = true)
+    Long lockForSeats(@Param("programId") Long programId);
+
+    // Realigns the counters with the join table (rows written before the counter existed)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE programs p SET seats_taken = " +
+            "(SELECT COUNT(*) FROM program_participants pp WHERE pp.program_id = p.id)", nativeQuery = true)
+    int resyncSeatsTaken();
 }
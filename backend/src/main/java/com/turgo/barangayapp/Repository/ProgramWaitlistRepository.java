@@ -0,0 +1,45 @@
+package com.turgo.barangayapp.Repository;
+
+import com.turgo.barangayapp.Model.ProgramWaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProgramWaitlistRepository extends JpaRepository<ProgramWaitlistEntry, Long> {
+
+    @Query("SELECT w.id AS id, w.user.id AS userId FROM ProgramWaitlistEntry w WHERE w.program.id = :programId ORDER BY w.id ASC")
+    List<WaitlistSlot> findQueue(@Param("programId") Long programId);
+
+    // Head of the queue, read while the program row is locked
+    @Query("SELECT w.id AS id, w.user.id AS userId FROM ProgramWaitlistEntry w WHERE w.program.id = :programId ORDER BY w.id ASC LIMIT 1")
+    List<WaitlistSlot> findHead(@Param("programId") Long programId);
+
+    @Query("SELECT w.program.id FROM ProgramWaitlistEntry w WHERE w.user.id = :userId")
+    List<Long> findWaitlistedProgramIds(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProgramWaitlistEntry w WHERE w.program.id = :programId AND w.user.id = :userId")
+    int deleteEntry(@Param("programId") Long programId, @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProgramWaitlistEntry w WHERE w.program.id = :programId AND w.user.id IN :userIds")
+    int deleteEntries(@Param("programId") Long programId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProgramWaitlistEntry w WHERE w.id = :id")
+    int deleteEntryById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProgramWaitlistEntry w WHERE w.program.id = :programId")
+    int deleteByProgram(@Param("programId") Long programId);
+}
@@ -1,12 +1,39 @@
 package com.turgo.barangayapp.Repository;
 
+import com.turgo.barangayapp.Model.ApplicationStatus;
 import com.turgo.barangayapp.Model.ServiceApplication;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Repository
 public interface ServiceApplicationRepository extends JpaRepository<ServiceApplication, Long> {
     List<ServiceApplication> findByUserIdOrderBySubmittedAtDesc(Long userId);
-    List<ServiceApplication> findAllByOrderBySubmittedAtDesc();
+
+    // Row-locks the applications (and loads their applicants) for a bulk transition. Call inside a transaction.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ServiceApplication a LEFT JOIN FETCH a.user WHERE a.id IN :ids")
+    List<ServiceApplication> lockAllWithUser(@Param("ids") List<Long> ids);
+
+    // One UPDATE for the whole batch; the status guard makes it a no-op for rows that moved meanwhile.
+    // Clears the persistence context so the locked entities are not flushed back over it.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ServiceApplication a SET a.status = :to WHERE a.id IN :ids AND a.status = :from")
+    int transition(@Param("ids") List<Long> ids, @Param("from") ApplicationStatus from, @Param("to") ApplicationStatus to);
+
+    // Single-application version; 0 when the status moved since it was read. Call inside a transaction.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ServiceApplication a SET a.status = :to WHERE a.id = :id AND a.status = :from")
+    int transitionOne(@Param("id") Long id, @Param("from") ApplicationStatus from, @Param("to") ApplicationStatus to);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ServiceApplication a SET a.notificationSent = true WHERE a.id = :id")
+    int markNotificationSent(@Param("id") Long id);
 }
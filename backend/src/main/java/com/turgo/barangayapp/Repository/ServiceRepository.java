@@ -1,11 +1,69 @@
 package com.turgo.barangayapp.Repository;
 
 import com.turgo.barangayapp.Model.Service;
+import com.turgo.barangayapp.dtos.ParticipantSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<Service, Long> {
     List<Service> findByIsActiveTrueOrderByNameAsc();
+
+    @Query("SELECT s.id AS id, COUNT(u) AS participantCount FROM Service s JOIN s.participants u WHERE s.id IN :ids GROUP BY s.id")
+    List<ParticipantCount> countParticipants(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Service s JOIN s.participants u WHERE u.id = :userId")
+    List<Long> findJoinedServiceIds(@Param("userId") Long userId);
+
+    @Query(value = "SELECT new com.turgo.barangayapp.dtos.ParticipantSummary(u.id, u.fullName, u.email, u.phoneNumber) " +
+            "FROM Service s JOIN s.participants u WHERE s.id = :serviceId ORDER BY u.fullName ASC, u.id ASC",
+            countQuery = "SELECT COUNT(u) FROM Service s JOIN s.participants u WHERE s.id = :serviceId")
+    Page<ParticipantSummary> findParticipants(@Param("serviceId") Long serviceId, Pageable pageable);
+
+    // Single-row writes on the join table; (service_id, user_id) is the primary key, so a
+    // duplicate join fails with a constraint violation instead of a lost update
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO service_participants (service_id, user_id) VALUES (:serviceId, :userId)", nativeQuery = true)
+    int insertParticipant(@Param("serviceId") Long serviceId, @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM service_participants WHERE service_id = :serviceId AND user_id = :userId", nativeQuery = true)
+    int deleteParticipant(@Param("serviceId") Long serviceId, @Param("userId") Long userId);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM Service s JOIN s.participants u WHERE s.id = :serviceId AND u.id = :userId")
+    boolean isParticipant(@Param("serviceId") Long serviceId, @Param("userId") Long userId);
+
+    // --- BULK ---
+    // One query: which of the ids exist, and which of those are already in
+    @Query("SELECT u.id AS id, (SELECT COUNT(m) FROM Service x JOIN x.participants m WHERE x.id = :serviceId AND m.id = u.id) AS memberships " +
+            "FROM User u WHERE u.id IN :userIds")
+    List<MembershipCheck> checkMemberships(@Param("serviceId") Long serviceId, @Param("userIds") Collection<Long> userIds);
+
+    // One multi-row INSERT. Callers hold lockForMembership and pass only non-members, so nothing
+    // is silently skipped: a duplicate or a missing service fails the statement. Users deleted in
+    // the meantime drop out of the SELECT.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO service_participants (service_id, user_id) SELECT :serviceId, u.id FROM users u WHERE u.id IN (:userIds)", nativeQuery = true)
+    int insertParticipants(@Param("serviceId") Long serviceId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM service_participants WHERE service_id = :serviceId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteParticipants(@Param("serviceId") Long serviceId, @Param("userIds") Collection<Long> userIds);
+
+    // Serializes membership changes for one service (joins, leaves, bulk) without locking the table
+    @Transactional
+    @Query(value = "SELECT id FROM services WHERE id = :serviceId FOR UPDATE", nativeQuery = true)
+    Long lockForMembership(@Param("serviceId") Long serviceId);
 }
@@ -0,0 +1,25 @@
+package com.turgo.barangayapp.Repository;
+
+import com.turgo.barangayapp.Model.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, Long> {
+
+    // Served by the (sha256, storage) unique index
+    Optional<StoredImage> findBySha256AndStorage(String sha256, String storage);
+
+    // 0 when the garbage collector removed the row in the meantime
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredImage s SET s.lastUsedAt = :now WHERE s.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
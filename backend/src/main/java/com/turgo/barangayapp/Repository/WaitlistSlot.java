@@ -0,0 +1,7 @@
+package com.turgo.barangayapp.Repository;
+
+// Projection of a waitlist row: entry id (queue order) and who is waiting
+public interface WaitlistSlot {
+    Long getId();
+    Long getUserId();
+}
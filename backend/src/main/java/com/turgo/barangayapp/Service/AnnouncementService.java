@@ -1,9 +1,13 @@
 package com.turgo.barangayapp.Service;
 
 import com.turgo.barangayapp.Model.Announcement;
+import com.turgo.barangayapp.Model.ImageOwner;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Repository.AnnouncementRepository;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -17,9 +21,32 @@ public class AnnouncementService {
     @Autowired
     private AnnouncementRepository announcementRepository;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private UpcomingContentIndex upcomingContentIndex;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
     // Get All (Public)
     public List<Announcement> getAllAnnouncements() {
-        return announcementRepository.findByEventDateAfterOrderByEventDateAsc(LocalDateTime.now());
+        return upcomingContentIndex.upcomingAnnouncements(LocalDateTime.now());
+    }
+
+    // Get Page (Public) - keyset pagination, cursor comes from the previous page
+    public CursorPage<Announcement> getAnnouncementPage(String cursor, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Announcement> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = announcementRepository.findUpcomingPage(now, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = announcementRepository.findUpcomingPageAfter(now, after.date(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, a -> new PageCursor(a.getEventDate(), a.getId()));
     }
 
     // Create (Admin)
@@ -34,10 +61,15 @@ public class AnnouncementService {
 
         if (request.containsKey("imageUrl")) {
             announcement.setImageUrl(request.get("imageUrl"));
+            announcement.setImageSrcset(request.get("imageSrcset"));
         }
         announcement.setCreatedBy(admin);
         announcement.setCreatedAt(LocalDateTime.now());
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        imageReferenceService.track(ImageOwner.ANNOUNCEMENT, saved.getId(), saved.getImageUrl());
+        upcomingContentIndex.putAnnouncement(saved);
+        contentVersionService.bump(ContentVersionService.Content.ANNOUNCEMENTS);
+        return saved;
     }
 
     public Optional<Announcement> updateAnnouncement(Long id, Map<String, String> request) {
@@ -47,9 +79,14 @@ public class AnnouncementService {
 
             if (request.containsKey("imageUrl")) {
                 announcement.setImageUrl(request.get("imageUrl"));
+                announcement.setImageSrcset(request.get("imageSrcset"));
             }
 
-            return announcementRepository.save(announcement);
+            Announcement saved = announcementRepository.save(announcement);
+            imageReferenceService.track(ImageOwner.ANNOUNCEMENT, saved.getId(), saved.getImageUrl());
+            upcomingContentIndex.putAnnouncement(saved);
+            contentVersionService.bump(ContentVersionService.Content.ANNOUNCEMENTS);
+            return saved;
         });
     }
 
@@ -57,6 +94,9 @@ public class AnnouncementService {
     public boolean deleteAnnouncement(Long id) {
         if (announcementRepository.existsById(id)) {
             announcementRepository.deleteById(id);
+            imageReferenceService.untrack(ImageOwner.ANNOUNCEMENT, id);
+            upcomingContentIndex.removeAnnouncement(id);
+            contentVersionService.bump(ContentVersionService.Content.ANNOUNCEMENTS);
             return true;
         }
         return false;
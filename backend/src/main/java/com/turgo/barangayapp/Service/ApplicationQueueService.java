@@ -0,0 +1,55 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.ApplicationStatus;
+import com.turgo.barangayapp.dtos.ApplicationQueueItem;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Admin queue of service applications, newest first, optionally filtered by status and/or
+// service type. Only the filters that are set go into the WHERE clause, so each combination
+// seeks straight into its composite index (see ServiceApplication) instead of scanning.
+@Service
+public class ApplicationQueueService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CursorPage<ApplicationQueueItem> getPage(ApplicationStatus status, String serviceType, String cursor, int size) {
+        PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.turgo.barangayapp.dtos.ApplicationQueueItem(a.id, a.serviceType, a.status, a.submittedAt, " +
+                "a.additionalInfo, u.id, u.fullName, u.email) FROM ServiceApplication a LEFT JOIN a.user u WHERE 1 = 1");
+        if (serviceType != null) {
+            jpql.append(" AND a.serviceType = :serviceType");
+        }
+        if (status != null) {
+            jpql.append(" AND a.status = :status");
+        }
+        if (after != null) {
+            jpql.append(" AND (a.submittedAt < :afterDate OR (a.submittedAt = :afterDate AND a.id < :afterId))");
+        }
+        jpql.append(" ORDER BY a.submittedAt DESC, a.id DESC");
+
+        TypedQuery<ApplicationQueueItem> query = entityManager.createQuery(jpql.toString(), ApplicationQueueItem.class);
+        if (serviceType != null) {
+            query.setParameter("serviceType", serviceType);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("afterDate", after.date());
+            query.setParameter("afterId", after.id());
+        }
+
+        List<ApplicationQueueItem> rows = query.setMaxResults(size + 1).getResultList();
+        return CursorPage.of(rows, size, item -> new PageCursor(item.submittedAt(), item.id()));
+    }
+}
@@ -3,24 +3,30 @@ package com.turgo.barangayapp.Service;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements ImageStorage {
 
     @Autowired
     private Cloudinary cloudinary;
 
-    public String uploadImage(MultipartFile file) throws IOException {
-        if (file == null || file.isEmpty()) {
-            return null;
-        }
+    @Override
+    public String backend() {
+        return "cloudinary";
+    }
 
-        Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
+    // Cloudinary's HTTP client streams the staged file to the API through a small fixed buffer,
+    // so the image is never held in the heap
+    @Override
+    public String store(Path file, String contentType, String sha256) throws IOException {
+        Map<?, ?> uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
             "resource_type", "auto",
             "folder", "barangay-app"
         ));
@@ -28,6 +34,7 @@ public class CloudinaryService {
         return (String) uploadResult.get("secure_url");
     }
 
+    @Override
     public void deleteImage(String imageUrl) {
         if (imageUrl == null || imageUrl.isEmpty()) {
             return;
@@ -6,6 +6,7 @@ import com.turgo.barangayapp.Repository.CommentRepository;
 import com.turgo.barangayapp.dtos.FilterComment; // Your new DTO
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -17,6 +18,12 @@ public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     // A basic list of bad words (You can expand this later or load from DB)
     private static final List<String> BAD_WORDS = Arrays.asList(
             // --- English Common ---
@@ -65,7 +72,20 @@ public class CommentService {
         comment.setEntityId(request.getEntityId());
         comment.setCreatedAt(LocalDateTime.now());
 
-        return commentRepository.save(comment);
+        return transactionTemplate.execute(status -> {
+            Comment saved = commentRepository.save(comment);
+            dashboardCounterService.comments(saved.getCreatedAt(), 1);
+            return saved;
+        });
+    }
+
+    // Only the delete that actually removed the row moves the counter
+    public void deleteComment(Comment comment) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (commentRepository.deleteIfPresent(comment.getId()) > 0) {
+                dashboardCounterService.comments(comment.getCreatedAt(), -1);
+            }
+        });
     }
 
     private boolean containsProfanity(String text) {
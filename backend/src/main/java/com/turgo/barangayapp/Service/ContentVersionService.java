@@ -0,0 +1,96 @@
+package com.turgo.barangayapp.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Keeps a version stamp per public collection so /api/public/** can answer conditional GETs.
+// Every admin write bumps the stamp of the collection it touches.
+@Service
+public class ContentVersionService {
+
+    public enum Content {
+        ANNOUNCEMENTS("announcements", true),
+        EVENTS("events", true),
+        PROGRAMS("programs", true),
+        OFFICIALS("officials", false),
+        SERVICES("services", false);
+
+        private final String path;
+        // "Upcoming" lists change on their own as dates pass, not only on writes
+        private final boolean timeFiltered;
+
+        Content(String path, boolean timeFiltered) {
+            this.path = path;
+            this.timeFiltered = timeFiltered;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public static Content fromPath(String path) {
+            for (Content content : values()) {
+                if (content.path.equals(path)) {
+                    return content;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Immutable view of a collection's version at a point in time
+    public record Stamp(Content content, long version, long bucket, long lastModified) {
+
+        public String etag() {
+            return "\"" + content.path + "-" + version + "-" + bucket + "\"";
+        }
+    }
+
+    private final Map<Content, AtomicLong> versions = new EnumMap<>(Content.class);
+    private final Map<Content, AtomicLong> modifiedAt = new EnumMap<>(Content.class);
+    private final List<Consumer<Content>> listeners = new CopyOnWriteArrayList<>();
+
+    @Value("${app.public-cache.time-bucket-seconds:60}")
+    private long timeBucketSeconds;
+
+    public ContentVersionService() {
+        // Seed with the boot time so tags issued before a restart never match afterwards
+        long now = System.currentTimeMillis();
+        for (Content content : Content.values()) {
+            versions.put(content, new AtomicLong(now));
+            modifiedAt.put(content, new AtomicLong(now));
+        }
+    }
+
+    public Stamp current(Content content) {
+        long now = System.currentTimeMillis();
+        long version = versions.get(content).get();
+        long lastModified = modifiedAt.get(content).get();
+        long bucket = 0;
+
+        if (content.timeFiltered) {
+            long bucketMillis = Math.max(1, timeBucketSeconds) * 1000;
+            bucket = now / bucketMillis;
+            lastModified = Math.max(lastModified, bucket * bucketMillis);
+        }
+        return new Stamp(content, version, bucket, lastModified);
+    }
+
+    public void bump(Content content) {
+        modifiedAt.get(content).set(System.currentTimeMillis());
+        versions.get(content).incrementAndGet();
+        listeners.forEach(listener -> listener.accept(content));
+    }
+
+    // Called after every bump, on the writer's thread - keep listeners cheap
+    public void addListener(Consumer<Content> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,187 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.ApplicationStatus;
+import com.turgo.barangayapp.dtos.DailyCount;
+import com.turgo.barangayapp.dtos.DashboardSummary;
+import com.turgo.barangayapp.dtos.ProgramParticipation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Materialized counts behind the admin dashboard. The write paths adjust them in the same
+// transaction as the change, so reading the dashboard is two small indexed queries however
+// large the underlying tables grow. A periodic pass recomputes them from the source tables
+// to repair any drift (e.g. rows changed directly in the database).
+@Service
+public class DashboardCounterService {
+
+    private static final String APPLICATIONS = "applications";
+    private static final String FEEDBACK_UNREAD = "feedback_unread";
+    private static final String LIKES = "likes";
+    private static final String COMMENTS = "comments";
+
+    // Dimensions share a 191-char key column with the "STATUS|" prefix
+    private static final int MAX_TYPE_LENGTH = 180;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.dashboard.days:14}")
+    private int days;
+
+    @Value("${app.dashboard.max-programs:20}")
+    private int maxPrograms;
+
+    private volatile LocalDateTime lastReconciledAt;
+
+    // --- WRITE (call inside the transaction making the change) ---
+    public void applications(ApplicationStatus status, String serviceType, long delta) {
+        add(APPLICATIONS, applicationKey(status.name(), serviceType), delta);
+    }
+
+    public void unreadFeedback(long delta) {
+        add(FEEDBACK_UNREAD, "all", delta);
+    }
+
+    public void likes(LocalDateTime createdAt, long delta) {
+        add(LIKES, createdAt.toLocalDate().toString(), delta);
+    }
+
+    public void comments(LocalDateTime createdAt, long delta) {
+        add(COMMENTS, createdAt.toLocalDate().toString(), delta);
+    }
+
+    private void add(String metric, String dimension, long delta) {
+        jdbcTemplate.update("INSERT INTO dashboard_counters (metric, dimension, total) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE total = total + ?", metric, dimension, delta, delta);
+    }
+
+    private static String applicationKey(String status, String serviceType) {
+        String type = serviceType == null ? "" : serviceType;
+        return status + "|" + (type.length() > MAX_TYPE_LENGTH ? type.substring(0, MAX_TYPE_LENGTH) : type);
+    }
+
+    // --- READ ---
+    // Primary-key lookup; backs the admin unread badge
+    public long unreadFeedbackCount() {
+        List<Long> totals = jdbcTemplate.queryForList(
+                "SELECT total FROM dashboard_counters WHERE metric = ? AND dimension = 'all'", Long.class, FEEDBACK_UNREAD);
+        return totals.isEmpty() ? 0 : Math.max(0, totals.get(0));
+    }
+
+    public DashboardSummary summary() {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(days - 1L);
+
+        Map<String, Long> byStatus = new TreeMap<>();
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        Map<String, Long> byType = new TreeMap<>();
+        Map<String, Long> likes = new HashMap<>();
+        Map<String, Long> comments = new HashMap<>();
+        long[] unread = {0};
+
+        jdbcTemplate.query("SELECT metric, dimension, total FROM dashboard_counters " +
+                        "WHERE metric IN (?, ?) OR (metric IN (?, ?) AND dimension >= ?)",
+                rs -> {
+                    String metric = rs.getString(1);
+                    String dimension = rs.getString(2);
+                    long total = rs.getLong(3);
+                    switch (metric) {
+                        case APPLICATIONS -> {
+                            int split = dimension.indexOf('|');
+                            byStatus.merge(dimension.substring(0, split), total, Long::sum);
+                            byType.merge(dimension.substring(split + 1), total, Long::sum);
+                        }
+                        case FEEDBACK_UNREAD -> unread[0] = total;
+                        case LIKES -> likes.put(dimension, total);
+                        case COMMENTS -> comments.put(dimension, total);
+                        default -> {
+                        }
+                    }
+                },
+                APPLICATIONS, FEEDBACK_UNREAD, LIKES, COMMENTS, firstDay.toString());
+        byType.values().removeIf(total -> total == 0);
+
+        // seats_taken is itself a maintained counter (see ProgramService); the end_date index bounds this
+        List<ProgramParticipation> programs = jdbcTemplate.query(
+                "SELECT id, name, start_date, seats_taken, capacity FROM programs WHERE end_date >= ? " +
+                "ORDER BY end_date, start_date, id LIMIT ?",
+                (rs, rowNum) -> new ProgramParticipation(rs.getLong("id"), rs.getString("name"),
+                        rs.getObject("start_date", LocalDateTime.class), rs.getLong("seats_taken"),
+                        rs.getObject("capacity", Integer.class)),
+                LocalDateTime.now(), maxPrograms);
+
+        return new DashboardSummary(byStatus, byType, unread[0], programs,
+                daily(likes, firstDay, today), daily(comments, firstDay, today), lastReconciledAt);
+    }
+
+    private static List<DailyCount> daily(Map<String, Long> counts, LocalDate firstDay, LocalDate today) {
+        List<DailyCount> series = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            series.add(new DailyCount(day, counts.getOrDefault(day.toString(), 0L)));
+        }
+        return series;
+    }
+
+    // --- RECONCILIATION ---
+    // Each metric is rebuilt in its own short READ COMMITTED transaction so the source scans take
+    // no shared locks; a write racing the rebuild can leave a count off by one until the next pass.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.dashboard.reconcile-interval-ms:3600000}", fixedDelayString = "${app.dashboard.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            LocalDate firstDay = LocalDate.now().minusDays(days - 1L);
+            rebuild(APPLICATIONS, null,
+                    "SELECT 'applications' AS metric, CONCAT(status, '|', LEFT(service_type, " + MAX_TYPE_LENGTH + ")) AS dimension, COUNT(*) AS total " +
+                    "FROM service_applications GROUP BY status, LEFT(service_type, " + MAX_TYPE_LENGTH + ")");
+            rebuild(FEEDBACK_UNREAD, null,
+                    "SELECT 'feedback_unread' AS metric, 'all' AS dimension, COUNT(*) AS total FROM feedback WHERE is_read = false");
+            rebuild(LIKES, firstDay,
+                    "SELECT 'likes' AS metric, DATE_FORMAT(created_at, '%Y-%m-%d') AS dimension, COUNT(*) AS total " +
+                    "FROM likes WHERE created_at >= ? GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d')");
+            rebuild(COMMENTS, firstDay,
+                    "SELECT 'comments' AS metric, DATE_FORMAT(created_at, '%Y-%m-%d') AS dimension, COUNT(*) AS total " +
+                    "FROM comments WHERE created_at >= ? GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d')");
+            lastReconciledAt = LocalDateTime.now();
+        } catch (Exception e) {
+            System.err.println("Dashboard counter reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    // fromDay != null limits a per-day metric to the dashboard window (dimension >= fromDay)
+    private void rebuild(String metric, LocalDate fromDay, String select) {
+        TransactionTemplate readCommitted = new TransactionTemplate(transactionManager);
+        readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        readCommitted.executeWithoutResult(status -> {
+            String upsert = "INSERT INTO dashboard_counters (metric, dimension, total) SELECT * FROM (" + select + ") AS src " +
+                    "ON DUPLICATE KEY UPDATE total = src.total";
+            if (fromDay == null) {
+                jdbcTemplate.update("DELETE FROM dashboard_counters WHERE metric = ?", metric);
+                jdbcTemplate.update(upsert);
+            } else {
+                jdbcTemplate.update("DELETE FROM dashboard_counters WHERE metric = ? AND dimension >= ?", metric, fromDay.toString());
+                jdbcTemplate.update(upsert, fromDay.atStartOfDay());
+            }
+        });
+    }
+}
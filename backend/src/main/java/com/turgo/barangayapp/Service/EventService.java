@@ -1,9 +1,13 @@
 package com.turgo.barangayapp.Service;
 
 import com.turgo.barangayapp.Model.Event;
+import com.turgo.barangayapp.Model.ImageOwner;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Repository.EventRepository;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -18,9 +22,40 @@ public class EventService {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private UpcomingContentIndex upcomingContentIndex;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
     // --- READ ---
     public List<Event> getUpcomingEvents() {
-        return eventRepository.findByEventDateAfterOrderByEventDateAsc(LocalDateTime.now());
+        return upcomingContentIndex.upcomingEvents(LocalDateTime.now());
+    }
+
+    // The index only holds events after now; a window reaching into the past is read from the DB
+    public List<Event> getEventsBetween(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(LocalDateTime.now())) {
+            return upcomingContentIndex.eventsBetween(from, to);
+        }
+        return eventRepository.findBetween(from, to);
+    }
+
+    // Keyset pagination, cursor comes from the previous page
+    public CursorPage<Event> getUpcomingEventPage(String cursor, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Event> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.findUpcomingPage(now, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = eventRepository.findUpcomingPageAfter(now, after.date(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, e -> new PageCursor(e.getEventDate(), e.getId()));
     }
 
     public Optional<Event> getEventById(Long id) {
@@ -41,12 +76,17 @@ public class EventService {
 
         if (request.containsKey("imageUrl")) {
             event.setImageUrl(request.get("imageUrl"));
+            event.setImageSrcset(request.get("imageSrcset"));
         }
 
         event.setCreatedBy(admin);
         event.setCreatedAt(LocalDateTime.now());
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        imageReferenceService.track(ImageOwner.EVENT, saved.getId(), saved.getImageUrl());
+        upcomingContentIndex.putEvent(saved);
+        contentVersionService.bump(ContentVersionService.Content.EVENTS);
+        return saved;
     }
 
     // --- UPDATE ---
@@ -62,9 +102,14 @@ public class EventService {
 
             if (request.containsKey("imageUrl")) {
                 event.setImageUrl(request.get("imageUrl"));
+                event.setImageSrcset(request.get("imageSrcset"));
             }
 
-            return eventRepository.save(event);
+            Event saved = eventRepository.save(event);
+            imageReferenceService.track(ImageOwner.EVENT, saved.getId(), saved.getImageUrl());
+            upcomingContentIndex.putEvent(saved);
+            contentVersionService.bump(ContentVersionService.Content.EVENTS);
+            return saved;
         });
     }
 
@@ -72,6 +117,9 @@ public class EventService {
     public boolean deleteEvent(Long id) {
         if (eventRepository.existsById(id)) {
             eventRepository.deleteById(id);
+            imageReferenceService.untrack(ImageOwner.EVENT, id);
+            upcomingContentIndex.removeEvent(id);
+            contentVersionService.bump(ContentVersionService.Content.EVENTS);
             return true;
         }
         return false;
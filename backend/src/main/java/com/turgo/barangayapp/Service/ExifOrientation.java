@@ -0,0 +1,109 @@
+package com.turgo.barangayapp.Service;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Phone cameras store pixels sideways and record the rotation in EXIF. Browsers honour it for
+// the original, but ImageIO ignores it and renditions carry no EXIF, so it is applied before
+// resizing or the thumbnails would show up rotated.
+public final class ExifOrientation {
+
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    // EXIF orientation 1..8 of a JPEG; 1 (as stored) when absent or unreadable
+    public static int read(Path jpeg) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(jpeg)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 1; // Start of scan: no metadata follows
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    int orientation = fromExif(segment);
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    // Looks for the orientation tag in IFD0 of an APP1 segment; 0 when this is not EXIF or has none
+    private static int fromExif(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 0;
+        }
+        int tiff = 6;
+        ByteOrder order = segment[tiff] == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        ByteBuffer buffer = ByteBuffer.wrap(segment).order(order);
+        try {
+            int ifd = tiff + buffer.getInt(tiff + 4);
+            int entries = buffer.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if ((buffer.getShort(entry) & 0xFFFF) == TAG_ORIENTATION) {
+                    int value = buffer.getShort(entry + 8) & 0xFFFF;
+                    return value >= 1 && value <= 8 ? value : 0;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // Truncated or corrupt EXIF
+        }
+        return 0;
+    }
+
+    // Redraws the image the way it should be displayed
+    public static BufferedImage apply(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        // AffineTransform(m00, m10, m01, m11, m02, m12): x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);  // Mirror horizontally
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // Rotate 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);  // Mirror vertically
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);   // Transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);  // Rotate 90 clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // Transverse
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);  // Rotate 90 counter-clockwise
+            default -> null;
+        };
+        if (transform == null) {
+            return image;
+        }
+
+        boolean swapped = orientation >= 5;
+        BufferedImage rotated = new BufferedImage(swapped ? h : w, swapped ? w : h,
+                image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+}
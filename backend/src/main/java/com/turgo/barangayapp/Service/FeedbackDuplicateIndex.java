@@ -0,0 +1,202 @@
+package com.turgo.barangayapp.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// In-memory near-duplicate index over feedback SimHashes. Each 64-bit fingerprint is split into
+// four 16-bit bands; two fingerprints within MAX_DISTANCE (3) bits must agree on at least one
+// band, so a lookup only compares against the entries sharing a band bucket. Matches are unioned
+// into clusters as they arrive; deletes mark the clusters stale and they are rebuilt on next read.
+@Service
+public class FeedbackDuplicateIndex {
+
+    public static final int MAX_DISTANCE = 3;
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 16;
+
+    private record Entry(long id, long userId, long fingerprint) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+    private final Map<Long, Long> parent = new HashMap<>();
+    private final Map<Long, Integer> clusterSizes = new HashMap<>();
+    private boolean clustersStale;
+
+    // --- LOAD ---
+    // Holds the lock while loading, so adds/removes from requests served meanwhile apply afterwards
+    // (add is idempotent for rows the load already saw). Backfills fingerprints for older rows.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<Object[]> backfill = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, user_id, simhash, CASE WHEN simhash IS NULL THEN message END FROM feedback",
+                rs -> {
+                    long id = rs.getLong(1);
+                    long userId = rs.getLong(2);
+                    long fingerprint = rs.getLong(3);
+                    if (rs.wasNull()) {
+                        fingerprint = FeedbackSimHash.fingerprint(rs.getString(4));
+                        backfill.add(new Object[]{fingerprint, id});
+                    }
+                    add(id, userId, fingerprint);
+                });
+        if (!backfill.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE feedback SET simhash = ? WHERE id = ?", backfill);
+        }
+    }
+
+    // --- WRITE (after the feedback row has committed) ---
+    // Returns the ids of existing feedback within MAX_DISTANCE of the new one
+    public synchronized List<Long> add(long id, long userId, long fingerprint) {
+        if (entries.containsKey(id)) {
+            return List.of();
+        }
+        List<Entry> matches = near(fingerprint);
+
+        Entry entry = new Entry(id, userId, fingerprint);
+        entries.put(id, entry);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(band, fingerprint), key -> new ArrayList<>()).add(entry);
+        }
+        if (!clustersStale) {
+            parent.put(id, id);
+            clusterSizes.put(id, 1);
+            matches.forEach(match -> union(id, match.id()));
+        }
+        return matches.stream().map(Entry::id).toList();
+    }
+
+    public synchronized void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(band, entry.fingerprint());
+            List<Entry> bucket = buckets.get(key);
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+        clustersStale = true;
+    }
+
+    // --- READ ---
+    // Includes the feedback itself, so 1 means no known duplicates
+    public synchronized int clusterSize(Long id) {
+        if (!entries.containsKey(id)) {
+            return 1;
+        }
+        refreshClusters();
+        return clusterSizes.get(find(id));
+    }
+
+    // Clusters of at least minSize, largest first; ids inside a cluster are oldest first
+    public synchronized List<List<Long>> clusters(int minSize) {
+        refreshClusters();
+        Map<Long, List<Long>> byRoot = new HashMap<>();
+        for (Long id : entries.keySet()) {
+            Long root = find(id);
+            if (clusterSizes.get(root) >= minSize) {
+                byRoot.computeIfAbsent(root, key -> new ArrayList<>()).add(id);
+            }
+        }
+        List<List<Long>> clusters = new ArrayList<>(byRoot.values());
+        clusters.forEach(cluster -> cluster.sort(Comparator.naturalOrder()));
+        clusters.sort(Comparator.<List<Long>>comparingInt(List::size).reversed().thenComparing(cluster -> cluster.get(0)));
+        return clusters;
+    }
+
+    public synchronized int distinctUsers(List<Long> ids) {
+        Set<Long> users = new HashSet<>();
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                users.add(entry.userId());
+            }
+        }
+        return users.size();
+    }
+
+    private List<Entry> near(long fingerprint) {
+        Map<Long, Entry> found = new LinkedHashMap<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Entry> bucket = buckets.get(bucketKey(band, fingerprint));
+            if (bucket == null) {
+                continue;
+            }
+            for (Entry candidate : bucket) {
+                if (FeedbackSimHash.distance(fingerprint, candidate.fingerprint()) <= MAX_DISTANCE) {
+                    found.putIfAbsent(candidate.id(), candidate);
+                }
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    private static long bucketKey(int band, long fingerprint) {
+        long value = (fingerprint >>> (band * BAND_BITS)) & ((1L << BAND_BITS) - 1);
+        return ((long) band << BAND_BITS) | value;
+    }
+
+    // --- CLUSTERS (union-find by size with path halving) ---
+    private void refreshClusters() {
+        if (!clustersStale) {
+            return;
+        }
+        parent.clear();
+        clusterSizes.clear();
+        for (Long id : entries.keySet()) {
+            parent.put(id, id);
+            clusterSizes.put(id, 1);
+        }
+        for (Entry entry : entries.values()) {
+            for (Entry match : near(entry.fingerprint())) {
+                union(entry.id(), match.id());
+            }
+        }
+        clustersStale = false;
+    }
+
+    private Long find(Long id) {
+        Long current = id;
+        while (!parent.get(current).equals(current)) {
+            Long grandparent = parent.get(parent.get(current));
+            parent.put(current, grandparent);
+            current = grandparent;
+        }
+        return current;
+    }
+
+    private void union(Long a, Long b) {
+        Long rootA = find(a);
+        Long rootB = find(b);
+        if (rootA.equals(rootB)) {
+            return;
+        }
+        if (clusterSizes.get(rootA) < clusterSizes.get(rootB)) {
+            Long swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent.put(rootB, rootA);
+        clusterSizes.put(rootA, clusterSizes.get(rootA) + clusterSizes.get(rootB));
+        clusterSizes.remove(rootB);
+    }
+}
@@ -3,21 +3,51 @@ package com.turgo.barangayapp.Service;
 import com.turgo.barangayapp.Model.Feedback;
 import com.turgo.barangayapp.Model.User;
 import com.turgo.barangayapp.Repository.FeedbackRepository;
+import com.turgo.barangayapp.Repository.FeedbackText;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.DuplicateCluster;
+import com.turgo.barangayapp.dtos.FeedbackInboxItem;
+import com.turgo.barangayapp.dtos.PageCursor;
+import com.turgo.barangayapp.dtos.TermCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class FeedbackService {
 
+    private static final int MAX_CLUSTER_IDS = 100;
+
     @Autowired
     private FeedbackRepository feedbackRepository;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private FeedbackDuplicateIndex duplicateIndex;
+
+    @Autowired
+    private FeedbackTermIndex termIndex;
+
     // Same Profanity List as Comments
     private static final List<String> BAD_WORDS = Arrays.asList(
             // --- English Common ---
@@ -50,7 +80,8 @@ public class FeedbackService {
     );
 
     // --- CREATE ---
-    public Feedback submitFeedback(Map<String, String> request, User user) {
+    // Returns the new row as an inbox item, with similarCount set if it is a near-duplicate
+    public FeedbackInboxItem submitFeedback(Map<String, String> request, User user) {
         String message = request.get("message");
 
         if (message == null || message.trim().length() < 10) {
@@ -65,36 +96,150 @@ public class FeedbackService {
         Feedback feedback = new Feedback();
         feedback.setMessage(message.trim());
         feedback.setUser(user);
-        return feedbackRepository.save(feedback);
+        feedback.setSimhash(FeedbackSimHash.fingerprint(feedback.getMessage()));
+        Feedback saved = transactionTemplate.execute(status -> {
+            Feedback row = feedbackRepository.save(feedback);
+            dashboardCounterService.unreadFeedback(1);
+            return row;
+        });
+
+        termIndex.added(saved.getId(), saved.getSubmittedAt(), saved.getMessage());
+        List<Long> similar = duplicateIndex.add(saved.getId(), user.getId(), saved.getSimhash());
+        // Flagged the same way the inbox shows it: how many others are in its duplicate group
+        int similarCount = similar.isEmpty() ? 0 : duplicateIndex.clusterSize(saved.getId()) - 1;
+        return new FeedbackInboxItem(saved.getId(), saved.getMessage(), saved.getSubmittedAt(), saved.isRead(),
+                saved.getAdminReply(), saved.getRepliedAt(), user.getId(), user.getFullName(), user.getEmail(), similarCount);
     }
 
-    // --- READ ---
-    public List<Feedback> getAllFeedback() {
-        return feedbackRepository.findAllByOrderBySubmittedAtDesc();
+    // --- READ (ADMIN) ---
+    // Newest first, keyset-paginated; read/replied are optional filters. Projects the sender's
+    // name and email in the same query instead of loading each User.
+    public CursorPage<FeedbackInboxItem> getInbox(Boolean read, Boolean replied, String cursor, int size) {
+        PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.turgo.barangayapp.dtos.FeedbackInboxItem(f.id, f.message, f.submittedAt, f.isRead, " +
+                "f.adminReply, f.repliedAt, u.id, u.fullName, u.email) FROM Feedback f LEFT JOIN f.user u WHERE 1 = 1");
+        if (read != null) {
+            jpql.append(" AND f.isRead = :read");
+        }
+        if (replied != null) {
+            jpql.append(replied ? " AND f.adminReply IS NOT NULL" : " AND f.adminReply IS NULL");
+        }
+        if (after != null) {
+            jpql.append(" AND (f.submittedAt < :afterDate OR (f.submittedAt = :afterDate AND f.id < :afterId))");
+        }
+        jpql.append(" ORDER BY f.submittedAt DESC, f.id DESC");
+
+        TypedQuery<FeedbackInboxItem> query = entityManager.createQuery(jpql.toString(), FeedbackInboxItem.class);
+        if (read != null) {
+            query.setParameter("read", read);
+        }
+        if (after != null) {
+            query.setParameter("afterDate", after.date());
+            query.setParameter("afterId", after.id());
+        }
+
+        List<FeedbackInboxItem> rows = query.setMaxResults(size + 1).getResultList().stream()
+                .map(item -> item.withSimilarCount(duplicateIndex.clusterSize(item.id()) - 1))
+                .toList();
+        return CursorPage.of(rows, size, item -> new PageCursor(item.submittedAt(), item.id()));
     }
 
-    // --- REPLY (ADMIN) ---
-    public Feedback replyToFeedback(Long id, String reply) {
-        Optional<Feedback> feedbackOpt = feedbackRepository.findById(id);
-        if (feedbackOpt.isEmpty()) {
-            throw new IllegalArgumentException("Feedback not found");
+    // Near-duplicate groups of at least minSize messages, largest first
+    public List<DuplicateCluster> getDuplicateClusters(int minSize, int limit) {
+        List<List<Long>> clusters = duplicateIndex.clusters(minSize);
+        if (clusters.size() > limit) {
+            clusters = clusters.subList(0, limit);
+        }
+        if (clusters.isEmpty()) {
+            return List.of();
         }
 
-        Feedback feedback = feedbackOpt.get();
-        feedback.setAdminReply(reply.trim());
-        feedback.setRepliedAt(LocalDateTime.now());
-        feedback.setRead(true);
+        List<Long> representativeIds = clusters.stream().map(cluster -> cluster.get(0)).toList();
+        Map<Long, FeedbackInboxItem> representatives = entityManager.createQuery(
+                        "SELECT new com.turgo.barangayapp.dtos.FeedbackInboxItem(f.id, f.message, f.submittedAt, f.isRead, " +
+                        "f.adminReply, f.repliedAt, u.id, u.fullName, u.email) FROM Feedback f LEFT JOIN f.user u WHERE f.id IN :ids",
+                        FeedbackInboxItem.class)
+                .setParameter("ids", representativeIds)
+                .getResultList().stream()
+                .collect(Collectors.toMap(FeedbackInboxItem::id, Function.identity()));
+
+        List<DuplicateCluster> result = new ArrayList<>();
+        for (List<Long> cluster : clusters) {
+            FeedbackInboxItem representative = representatives.get(cluster.get(0));
+            if (representative == null) {
+                continue; // Deleted since the index was read
+            }
+            List<Long> ids = cluster.size() > MAX_CLUSTER_IDS ? cluster.subList(0, MAX_CLUSTER_IDS) : cluster;
+            result.add(new DuplicateCluster(representative.withSimilarCount(cluster.size() - 1), cluster.size(),
+                    duplicateIndex.distinctUsers(cluster), List.copyOf(ids)));
+        }
+        return result;
+    }
+
+    // Most mentioned keywords over the last `days` days, including today
+    public List<TermCount> getTrendingTerms(int days, int limit) {
+        LocalDate today = LocalDate.now();
+        return termIndex.topTerms(today.minusDays(days - 1L), today, limit);
+    }
+
+    public long getUnreadCount() {
+        return dashboardCounterService.unreadFeedbackCount();
+    }
 
-        return feedbackRepository.save(feedback);
+    // --- REPLY (ADMIN) ---
+    public Feedback replyToFeedback(Long id, String reply) {
+        return transactionTemplate.execute(status -> {
+            // Conditional flip first: of two concurrent replies only one sees the row unread
+            int flipped = feedbackRepository.markRead(List.of(id));
+            Feedback feedback = feedbackRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Feedback not found"));
+            feedback.setAdminReply(reply.trim());
+            feedback.setRepliedAt(LocalDateTime.now());
+            feedback.setRead(true);
+            Feedback saved = feedbackRepository.save(feedback);
+            if (flipped > 0) {
+                dashboardCounterService.unreadFeedback(-flipped);
+            }
+            return saved;
+        });
     }
 
     // --- DELETE (ADMIN) ---
     public boolean deleteFeedback(Long id) {
-        if (feedbackRepository.existsById(id)) {
-            feedbackRepository.deleteById(id);
-            return true;
+        // Same path as the bulk delete, which reads the unread flag under the row lock
+        return deleteFeedback(List.of(id)) > 0;
+    }
+
+    // --- BULK (ADMIN) ---
+    // Returns how many were actually unread before
+    public int markRead(List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            int changed = feedbackRepository.markRead(ids);
+            if (changed > 0) {
+                dashboardCounterService.unreadFeedback(-changed);
+            }
+            return changed;
+        });
+    }
+
+    // Returns how many rows were deleted
+    public int deleteFeedback(List<Long> ids) {
+        List<FeedbackText> deleted = transactionTemplate.execute(status -> {
+            long unread = feedbackRepository.lockUnreadCount(ids);
+            List<FeedbackText> texts = feedbackRepository.findTexts(ids);
+            feedbackRepository.deleteByIds(ids);
+            if (unread > 0) {
+                dashboardCounterService.unreadFeedback(-unread);
+            }
+            return texts;
+        });
+        for (FeedbackText text : deleted) {
+            duplicateIndex.remove(text.getId());
+            termIndex.removed(text.getId(), text.getSubmittedAt(), text.getMessage());
         }
-        return false;
+        return deleted.size();
     }
 
     // Helper Method
@@ -0,0 +1,60 @@
+package com.turgo.barangayapp.Service;
+
+import java.nio.charset.StandardCharsets;
+
+// 64-bit SimHash over word unigrams and bigrams: messages that share most of their wording
+// get fingerprints a few bits apart, regardless of case, punctuation or spacing.
+public final class FeedbackSimHash {
+
+    private FeedbackSimHash() {
+    }
+
+    public static long fingerprint(String text) {
+        String[] words = text == null ? new String[0]
+                : text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim().split(" ");
+        if (words.length == 0 || words[0].isEmpty()) {
+            return hash(text == null ? "" : text.trim());
+        }
+
+        int[] weights = new int[64];
+        for (int i = 0; i < words.length; i++) {
+            add(weights, hash(words[i]));
+            if (i > 0) {
+                add(weights, hash(words[i - 1] + " " + words[i]));
+            }
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void add(int[] weights, long featureHash) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((featureHash >>> bit) & 1) != 0 ? 1 : -1;
+        }
+    }
+
+    // FNV-1a, then the murmur3 finalizer so every input bit reaches every output bit
+    private static long hash(String feature) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,276 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.dtos.TermCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Term frequencies over feedback messages, bucketed per day, so "what are residents talking about
+// this week" is answered from memory. A term counts once per message (document frequency), so one
+// long rant cannot dominate. Kept current by FeedbackService; rebuilt from the table in parallel
+// id-range chunks at startup or on demand. Changes are applied per feedback id and only once:
+// the index tracks which ids it has counted and which have been deleted (ids are never reused),
+// so a change reported late, twice or out of order cannot skew the counts.
+@Service
+public class FeedbackTermIndex {
+
+    private static final int MIN_TERM_LENGTH = 3;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            // --- English ---
+            "the", "and", "for", "are", "but", "not", "you", "your", "all", "any", "can", "had", "her", "was",
+            "one", "our", "out", "has", "have", "him", "his", "how", "its", "new", "now", "old", "see",
+            "two", "who", "did", "does", "get", "got", "let", "put", "say", "she", "too", "use", "this", "that",
+            "with", "they", "them", "then", "than", "there", "their", "these", "those", "what", "when", "where",
+            "which", "while", "will", "would", "should", "could", "been", "being", "were", "from", "into",
+            "about", "also", "just", "like", "more", "most", "some", "such", "only", "other", "very", "much",
+            "many", "because", "please", "thank", "thanks", "here", "still", "always", "every",
+            "again", "even", "make", "made", "need", "want", "know", "think", "really", "already", "since",
+            "until", "over", "under", "after", "before", "why", "yes", "well",
+
+            // --- Filipino ---
+            "ang", "mga", "kay", "kina", "niya", "nila", "namin", "natin", "ninyo", "nyo", "ako", "ikaw", "siya",
+            "kami", "tayo", "kayo", "sila", "ito", "iyan", "yan", "iyon", "yon", "dito", "diyan", "dyan", "doon",
+            "don", "opo", "lang", "lamang", "din", "rin", "daw", "raw", "naman", "kasi", "kaya", "pero", "dahil",
+            "kung", "kapag", "pag", "para", "may", "mayroon", "meron", "wala", "hindi", "yung", "yun", "nang",
+            "nga", "sana", "talaga", "ano", "sino", "saan", "bakit", "paano", "kailan", "lahat", "isa", "mas",
+            "pinaka", "ngayon", "dati", "tapos", "tsaka", "saka", "diba", "po", "sa", "ng", "na", "at", "ay",
+            "ba", "pa", "si", "ni", "ko", "mo", "ka", "ho", "eh", "iba", "ibang", "kanila", "amin",
+            "atin", "inyo", "akin", "nito", "niyon", "noon", "kahit", "pati", "habang", "upang", "sapagkat",
+            "muna", "nalang", "lng", "sya", "nya", "salamat", "sobra", "sobrang", "palagi",
+            "lagi", "ulit", "wag", "huwag", "pls", "plss"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.feedback-terms.rebuild-chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.feedback-terms.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    // day -> term -> number of messages that day mentioning it
+    private NavigableMap<LocalDate, Map<String, Integer>> days = new TreeMap<>();
+
+    // Ids whose terms are in days
+    private BitSet counted = new BitSet();
+
+    // Ids reported deleted; an add arriving after its delete is ignored
+    private final BitSet gone = new BitSet();
+
+    // Changes made while a rebuild is scanning, replayed onto its result before the swap.
+    // Null when no rebuild is running.
+    private List<Change> pending;
+
+    // One rebuild at a time, so they don't share the pending list
+    private final Object rebuildLock = new Object();
+
+    private record Change(long id, LocalDateTime submittedAt, String message, boolean add) {
+    }
+
+    // --- WRITE (after the feedback change has committed) ---
+    public synchronized void added(long id, LocalDateTime submittedAt, String message) {
+        Change change = new Change(id, submittedAt, message, true);
+        apply(days, counted, change);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    public synchronized void removed(long id, LocalDateTime submittedAt, String message) {
+        Change change = new Change(id, submittedAt, message, false);
+        gone.set(index(id));
+        apply(days, counted, change);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    // No-op when the id is already in the wanted state (or was deleted, for an add)
+    private void apply(NavigableMap<LocalDate, Map<String, Integer>> target, BitSet targetCounted, Change change) {
+        int id = index(change.id());
+        if (change.add() == targetCounted.get(id) || (change.add() && gone.get(id))) {
+            return;
+        }
+        targetCounted.set(id, change.add());
+        count(target, change.submittedAt(), change.message(), change.add());
+    }
+
+    private static void count(NavigableMap<LocalDate, Map<String, Integer>> target, LocalDateTime submittedAt, String message, boolean add) {
+        LocalDate date = submittedAt.toLocalDate();
+        if (add) {
+            Map<String, Integer> day = target.computeIfAbsent(date, key -> new HashMap<>());
+            for (String term : terms(message)) {
+                day.merge(term, 1, Integer::sum);
+            }
+            return;
+        }
+        Map<String, Integer> day = target.get(date);
+        if (day == null) {
+            return;
+        }
+        for (String term : terms(message)) {
+            day.computeIfPresent(term, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        if (day.isEmpty()) {
+            target.remove(date);
+        }
+    }
+
+    // --- READ ---
+    // Top k terms across [from, to] inclusive; a bounded min-heap keeps this O(n log k)
+    public synchronized List<TermCount> topTerms(LocalDate from, LocalDate to, int k) {
+        Map<String, Long> totals = new HashMap<>();
+        for (Map<String, Integer> day : days.subMap(from, true, to, true).values()) {
+            day.forEach((term, count) -> totals.merge(term, (long) count, Long::sum));
+        }
+
+        Comparator<TermCount> order = Comparator.comparingLong(TermCount::count).thenComparing(TermCount::term, Comparator.reverseOrder());
+        PriorityQueue<TermCount> heap = new PriorityQueue<>(order);
+        totals.forEach((term, count) -> {
+            heap.offer(new TermCount(term, count));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        });
+
+        List<TermCount> top = new ArrayList<>(heap);
+        top.sort(order.reversed());
+        return top;
+    }
+
+    // --- REBUILD ---
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("Feedback term index rebuild failed: " + e.getMessage());
+        }
+    }
+
+    // Scans the table in parallel id ranges into private maps and merges them. Changes reported
+    // during the scan are buffered and replayed onto the result before it is swapped in; the ids
+    // the scan saw decide whether each one is already counted. Changes reported after the swap
+    // for rows the scan already saw are absorbed by the same per-id check.
+    public void rebuild() throws Exception {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            Scan scan;
+            try {
+                scan = scan();
+            } catch (Exception e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Change change : pending) {
+                    apply(scan.days(), scan.ids(), change);
+                }
+                days = scan.days();
+                counted = scan.ids();
+                pending = null;
+            }
+        }
+    }
+
+    // The merged counts plus every id they include
+    private record Scan(NavigableMap<LocalDate, Map<String, Integer>> days, BitSet ids) {
+    }
+
+    private record Chunk(Map<LocalDate, Map<String, Integer>> days, BitSet ids) {
+    }
+
+    // Feedback ids are auto-increment and stay far below 2^31
+    private static int index(long id) {
+        return Math.toIntExact(id);
+    }
+
+    private Scan scan() throws Exception {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM feedback");
+        NavigableMap<LocalDate, Map<String, Integer>> merged = new TreeMap<>();
+        if (bounds.get("lo") == null) {
+            return new Scan(merged, new BitSet());
+        }
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, rebuildThreads));
+        try {
+            List<Future<Chunk>> futures = new ArrayList<>();
+            for (long start = lo; start <= hi; start += chunkSize) {
+                long from = start;
+                long to = Math.min(hi, start + chunkSize - 1);
+                futures.add(pool.submit(() -> scanChunk(from, to)));
+            }
+            BitSet ids = new BitSet();
+            for (Future<Chunk> future : futures) {
+                Chunk chunk = future.get();
+                chunk.days().forEach((day, counts) -> {
+                    Map<String, Integer> target = merged.computeIfAbsent(day, key -> new HashMap<>());
+                    counts.forEach((term, count) -> target.merge(term, count, Integer::sum));
+                });
+                ids.or(chunk.ids());
+            }
+            return new Scan(merged, ids);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Chunk scanChunk(long from, long to) {
+        Map<LocalDate, Map<String, Integer>> local = new HashMap<>();
+        BitSet ids = new BitSet();
+        jdbcTemplate.query("SELECT id, submitted_at, message FROM feedback WHERE id BETWEEN ? AND ?",
+                rs -> {
+                    ids.set(index(rs.getLong(1)));
+                    Timestamp submittedAt = rs.getTimestamp(2);
+                    Map<String, Integer> day = local.computeIfAbsent(submittedAt.toLocalDateTime().toLocalDate(), key -> new HashMap<>());
+                    for (String term : terms(rs.getString(3))) {
+                        day.merge(term, 1, Integer::sum);
+                    }
+                },
+                from, to);
+        return new Chunk(local, ids);
+    }
+
+    // Lower-cased words of at least MIN_TERM_LENGTH letters, minus stopwords and bare numbers, deduplicated
+    static Set<String> terms(String message) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (message == null) {
+            return terms;
+        }
+        for (String word : message.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TERM_LENGTH && !STOPWORDS.contains(word) && !word.chars().allMatch(Character::isDigit)) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+}
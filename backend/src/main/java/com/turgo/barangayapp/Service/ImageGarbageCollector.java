@@ -0,0 +1,193 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.dtos.OrphanImage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Deletes uploaded images that no content row uses any more. A URL must have been queued
+// (see ImageReferenceService) and gone unused for min-age before it goes, which leaves an undo
+// window and protects uploads whose form has not been saved yet. Each run deletes at most
+// batch-size images, spaced delete-interval-ms apart to stay inside the storage API's rate limits.
+// With dry-run on, runs only report what they would delete. Runs happen on the collector's own
+// thread: the pauses and storage calls would otherwise hold up the shared @Scheduled thread
+// that the outbox, upload-job sweep and reconcilers also run on.
+@Service
+public class ImageGarbageCollector {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.images.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.gc.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${app.images.gc.min-age-ms:86400000}")
+    private long minAgeMs;
+
+    @Value("${app.images.gc.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.images.gc.delete-interval-ms:250}")
+    private long deleteIntervalMs;
+
+    @Value("${app.images.gc.interval-ms:600000}")
+    private long intervalMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-gc");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        scheduler.scheduleWithFixedDelay(this::collect, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    // --- COLLECTION ---
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = cutoff();
+            imageReferenceService.enqueueUnreferenced(imageStorage.backend(), cutoff);
+            if (dryRun) {
+                List<OrphanImage> orphans = report(1000);
+                long due = orphans.stream().filter(orphan -> orphan.deletableAt() != null && !orphan.deletableAt().isAfter(LocalDateTime.now())).count();
+                System.err.println("Image GC dry run: " + due + " orphaned image(s) due for deletion, nothing deleted");
+                return;
+            }
+
+            List<String> due = jdbcTemplate.queryForList(
+                    "SELECT image_url FROM image_removals WHERE enqueued_at <= ? ORDER BY enqueued_at LIMIT ?",
+                    String.class, cutoff, batchSize);
+            for (int i = 0; i < due.size(); i++) {
+                if (i > 0) {
+                    Thread.sleep(deleteIntervalMs);
+                }
+                remove(due.get(i), cutoff);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Image garbage collection failed: " + e.getMessage());
+        }
+    }
+
+    // Re-checks the URL under the stored_images row lock, then forgets it and deletes the assets
+    // after commit. A duplicate upload racing this either touched the row first (so it is kept)
+    // or finds it gone and uploads afresh (see ImageUploadService.stillStored).
+    private void remove(String imageUrl, LocalDateTime cutoff) {
+        List<String> assets = transactionTemplate.execute(status -> {
+            Map<String, Object> row = jdbcTemplate.query(
+                    "SELECT id, storage, image_srcset, COALESCE(last_used_at, created_at) AS last_used " +
+                    "FROM stored_images WHERE image_url = ? FOR UPDATE",
+                    rs -> rs.next() ? Map.of(
+                            "id", rs.getLong("id"),
+                            "storage", rs.getString("storage"),
+                            "srcset", rs.getString("image_srcset") == null ? "" : rs.getString("image_srcset"),
+                            "lastUsed", rs.getTimestamp("last_used").toLocalDateTime()) : null,
+                    imageUrl);
+            jdbcTemplate.update("DELETE FROM image_removals WHERE image_url = ?", imageUrl);
+
+            // Not one of our uploads, another backend's, in use again or recently handed out
+            if (row == null
+                    || !imageStorage.backend().equals(row.get("storage"))
+                    || imageReferenceService.isReferenced(imageUrl)
+                    || ((LocalDateTime) row.get("lastUsed")).isAfter(cutoff)) {
+                return List.of();
+            }
+
+            jdbcTemplate.update("DELETE FROM stored_images WHERE id = ?", row.get("id"));
+            List<String> urls = new ArrayList<>();
+            urls.add(imageUrl);
+            urls.addAll(srcsetUrls((String) row.get("srcset"), imageUrl));
+            return urls;
+        });
+
+        if (assets != null && !assets.isEmpty()) {
+            assets.forEach(imageStorage::deleteImage);
+            Counter.builder("barangay.images.gc.deleted").register(meterRegistry).increment();
+        }
+    }
+
+    // --- REPORT ---
+    // Every unreferenced stored image in this backend, oldest use first; deletes nothing
+    public List<OrphanImage> report(int limit) {
+        Duration minAge = Duration.ofMillis(minAgeMs);
+        return jdbcTemplate.query(
+                "SELECT s.image_url, s.image_srcset, s.size_bytes, s.created_at, " +
+                "COALESCE(s.last_used_at, s.created_at) AS last_used, q.enqueued_at " +
+                "FROM stored_images s LEFT JOIN image_removals q ON q.image_url = s.image_url " +
+                "WHERE s.storage = ? AND NOT EXISTS (SELECT 1 FROM image_references r WHERE r.image_url = s.image_url) " +
+                "ORDER BY last_used LIMIT ?",
+                (rs, rowNum) -> {
+                    LocalDateTime lastUsed = rs.getTimestamp("last_used").toLocalDateTime();
+                    Timestamp enqueued = rs.getTimestamp("enqueued_at");
+                    LocalDateTime queuedAt = enqueued == null ? null : enqueued.toLocalDateTime();
+                    // Deletable once both the queue entry and the last use are older than min-age
+                    LocalDateTime deletableAt = queuedAt == null ? null
+                            : (queuedAt.isAfter(lastUsed) ? queuedAt : lastUsed).plus(minAge);
+                    return new OrphanImage(rs.getString("image_url"), rs.getString("image_srcset"), rs.getLong("size_bytes"),
+                            rs.getTimestamp("created_at").toLocalDateTime(), lastUsed, queuedAt, deletableAt);
+                },
+                imageStorage.backend(), limit);
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(Duration.ofMillis(minAgeMs));
+    }
+
+    // "url 320w, url 640w, ..." minus the original, which is deleted separately
+    private static List<String> srcsetUrls(String srcset, String original) {
+        List<String> urls = new ArrayList<>();
+        for (String candidate : srcset.split(",")) {
+            String url = candidate.trim().split("\\s+")[0];
+            if (!url.isEmpty() && !url.equals(original)) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,141 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.ImageOwner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Records which image URL each event, announcement, program, service and official uses, and
+// queues a URL for removal when the last row using it lets go (image replaced or row deleted).
+// A periodic rebuild from the content tables repairs anything changed behind our back.
+// URLs are recorded as ImageStorage.key(url), the form stored_images uses, so an image handed
+// out through several hosts is still one reference.
+@Service
+public class ImageReferenceService {
+
+    // Longer URLs are not ours (stored images are indexed at this width) and are never tracked
+    public static final int MAX_URL_LENGTH = 768;
+
+    private static final String[][] OWNER_TABLES = {
+            {"EVENT", "events", "image_url"},
+            {"ANNOUNCEMENT", "announcements", "image_url"},
+            {"PROGRAM", "programs", "image_url"},
+            {"SERVICE", "services", "image_url"},
+            {"OFFICIAL", "officials", "picture_url"}
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    // --- WRITE (call after the owning row is saved or deleted) ---
+    public void track(ImageOwner owner, Long ownerId, String imageUrl) {
+        String url = keyOf(imageUrl);
+        transactionTemplate.executeWithoutResult(status -> {
+            String previous = jdbcTemplate.query(
+                    "SELECT image_url FROM image_references WHERE owner_type = ? AND owner_id = ? FOR UPDATE",
+                    rs -> rs.next() ? rs.getString(1) : null, owner.name(), ownerId);
+            if (Objects.equals(previous, url)) {
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (url == null) {
+                jdbcTemplate.update("DELETE FROM image_references WHERE owner_type = ? AND owner_id = ?", owner.name(), ownerId);
+            } else {
+                jdbcTemplate.update("INSERT INTO image_references (owner_type, owner_id, image_url, updated_at) VALUES (?, ?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE image_url = ?, updated_at = ?", owner.name(), ownerId, url, now, url, now);
+                jdbcTemplate.update("DELETE FROM image_removals WHERE image_url = ?", url); // In use again
+            }
+            if (previous != null && !isReferenced(previous)) {
+                enqueue(previous, now);
+            }
+        });
+    }
+
+    public void untrack(ImageOwner owner, Long ownerId) {
+        track(owner, ownerId, null);
+    }
+
+    // Null for no image or one too long to be ours
+    private String keyOf(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return null;
+        }
+        String key = imageStorage.key(imageUrl);
+        return key.length() > MAX_URL_LENGTH ? null : key;
+    }
+
+    public boolean isReferenced(String imageUrl) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM image_references WHERE image_url = ?)", Boolean.class, imageUrl));
+    }
+
+    // Re-enqueueing restarts the grace period
+    private void enqueue(String imageUrl, LocalDateTime now) {
+        jdbcTemplate.update("INSERT INTO image_removals (image_url, enqueued_at) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE enqueued_at = ?", imageUrl, now, now);
+    }
+
+    // Stored images nothing has pointed at since idleBefore, such as uploads whose form was abandoned
+    public int enqueueUnreferenced(String storage, LocalDateTime idleBefore) {
+        return jdbcTemplate.update("INSERT INTO image_removals (image_url, enqueued_at) " +
+                "SELECT s.image_url, ? FROM stored_images s " +
+                "WHERE s.storage = ? AND COALESCE(s.last_used_at, s.created_at) < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM image_references r WHERE r.image_url = s.image_url) " +
+                "ON DUPLICATE KEY UPDATE enqueued_at = image_removals.enqueued_at",
+                LocalDateTime.now(), storage, idleBefore);
+    }
+
+    // --- RECONCILIATION ---
+    // One READ COMMITTED transaction so the content scans take no shared locks; a row saved
+    // during the rebuild is still picked up because the rebuild reads the committed tables.
+    // Content URLs pass through keyOf, so each table is read here rather than copied in SQL.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.images.gc.reconcile-interval-ms:3600000}", fixedDelayString = "${app.images.gc.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            TransactionTemplate readCommitted = new TransactionTemplate(transactionManager);
+            readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+            readCommitted.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM image_references");
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (String[] owner : OWNER_TABLES) {
+                    List<Object[]> rows = new ArrayList<>();
+                    jdbcTemplate.query("SELECT id, " + owner[2] + " FROM " + owner[1] + " WHERE " + owner[2] + " <> ''",
+                            rs -> {
+                                String key = keyOf(rs.getString(2));
+                                if (key != null) {
+                                    rows.add(new Object[]{owner[0], rs.getLong(1), key, now});
+                                }
+                            });
+                    jdbcTemplate.batchUpdate("INSERT INTO image_references (owner_type, owner_id, image_url, updated_at) " +
+                            "VALUES (?, ?, ?, ?)", rows);
+                }
+                jdbcTemplate.update("DELETE q FROM image_removals q JOIN image_references r ON r.image_url = q.image_url");
+            });
+        } catch (Exception e) {
+            System.err.println("Image reference reconciliation failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.turgo.barangayapp.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fixed-width renditions of uploaded photos so list pages can pick a small one via srcset.
+// Decoding a camera photo takes tens of MB of heap and a few hundred ms of CPU, so it runs on
+// its own small pool with a bounded queue: a burst of uploads waits or is turned away (503)
+// instead of starving request threads or the heap.
+@Service
+public class ImageRenditionService {
+
+    // Formats ImageIO can decode; animated GIFs would lose their animation, WebP/AVIF have no decoder
+    private static final Set<String> RESIZABLE = Set.of("image/jpeg", "image/png");
+
+    @Value("${app.images.rendition-widths:320,640,1280}")
+    private int[] renditionWidths;
+
+    @Value("${app.images.resize-threads:2}")
+    private int resizeThreads;
+
+    @Value("${app.images.resize-queue:8}")
+    private int resizeQueue;
+
+    @Value("${app.images.resize-timeout-ms:30000}")
+    private long resizeTimeoutMs;
+
+    // Refuses decompression bombs before allocating the pixels
+    @Value("${app.images.max-pixels:50000000}")
+    private long maxPixels;
+
+    @Value("${app.images.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer resizeTimer;
+    private ThreadPoolExecutor pool;
+
+    public record Rendition(int width, Path file, String contentType) {
+    }
+
+    // sourceWidth is the displayed width of the original; 0 (and no renditions) when it could not be decoded
+    public record RenditionSet(int sourceWidth, List<Rendition> renditions) {
+        public static final RenditionSet NONE = new RenditionSet(0, List.of());
+    }
+
+    public ImageRenditionService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        resizeTimer = Timer.builder("barangay.images.resize").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = new ThreadPoolExecutor(resizeThreads, resizeThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(resizeQueue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-resize-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("barangay.images.resize.queue", pool, executor -> executor.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Writes renditions narrower than the original into outputDir; the caller deletes them.
+    // Throws RejectedExecutionException when the pool's queue is full, and
+    // IllegalArgumentException when the image is too large to decode.
+    public RenditionSet render(Path original, String contentType, Path outputDir) throws IOException {
+        if (contentType == null || !RESIZABLE.contains(contentType.toLowerCase())) {
+            return RenditionSet.NONE;
+        }
+
+        Future<RenditionSet> job;
+        try {
+            job = pool.submit(() -> resizeTimer.recordCallable(() -> resize(original, contentType, outputDir)));
+        } catch (RejectedExecutionException e) {
+            Counter.builder("barangay.images.resize.rejected").register(meterRegistry).increment();
+            throw e;
+        }
+
+        try {
+            return job.get(resizeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            job.cancel(true);
+            throw new IOException("Image processing timed out");
+        } catch (InterruptedException e) {
+            job.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while processing image");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new IOException("Image processing failed", cause);
+        }
+    }
+
+    // --- WORKER ---
+    private RenditionSet resize(Path original, String contentType, Path outputDir) throws IOException {
+        int orientation = "image/jpeg".equalsIgnoreCase(contentType) ? ExifOrientation.read(original) : 1;
+        Decoded decoded = decode(original, orientation);
+        if (decoded == null) {
+            return RenditionSet.NONE;
+        }
+        BufferedImage image = ExifOrientation.apply(decoded.image(), orientation);
+
+        int sourceWidth = decoded.sourceWidth();
+        boolean alpha = image.getColorModel().hasAlpha();
+        int[] widths = Arrays.stream(renditionWidths).filter(w -> w > 0 && w < sourceWidth).distinct().sorted().toArray();
+
+        List<Rendition> renditions = new ArrayList<>();
+        try {
+            // Widest first, each step scaling down the previous result rather than the full original
+            BufferedImage current = image;
+            for (int i = widths.length - 1; i >= 0; i--) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Image processing cancelled");
+                }
+                current = scale(current, widths[i], alpha);
+                Path file = outputDir.resolve(UUID.randomUUID() + "-" + widths[i] + (alpha ? ".png" : ".jpg"));
+                renditions.add(new Rendition(widths[i], file, alpha ? "image/png" : "image/jpeg"));
+                write(current, file, alpha);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Rendition rendition : renditions) {
+                Files.deleteIfExists(rendition.file());
+            }
+            throw e;
+        }
+        renditions.sort(Comparator.comparingInt(Rendition::width));
+        return new RenditionSet(sourceWidth, renditions);
+    }
+
+    // image may be subsampled; sourceWidth is the full width once the EXIF orientation is applied
+    private record Decoded(BufferedImage image, int sourceWidth) {
+    }
+
+    // Null when ImageIO cannot read it (e.g. CMYK JPEG); the original is still stored.
+    // Reads only every n-th pixel of each row and column so the decoded width stays at or just
+    // above the widest rendition: a 4000px photo for 1280px renditions takes a ninth of the heap.
+    private Decoded decode(Path file, int orientation) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("Image dimensions are too large");
+                }
+                // Orientations 5-8 turn the stored height into the displayed width
+                int sourceWidth = orientation >= 5 ? height : width;
+                int widest = Arrays.stream(renditionWidths).filter(w -> w > 0 && w < sourceWidth).max().orElse(sourceWidth);
+                int step = Math.max(1, sourceWidth / widest);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return new Decoded(reader.read(0, param), sourceWidth);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IIOException e) {
+            System.err.println("Skipping renditions, could not decode image: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Halves repeatedly before the last step; a single bilinear pass from 4000px to 320px aliases badly.
+    // Opaque images use 3-byte rows, which the JPEG writer encodes as is; it copies an int raster first.
+    private static BufferedImage scale(BufferedImage source, int targetWidth, boolean alpha) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Progressive JPEG (PNG when there is transparency to keep)
+    private void write(BufferedImage image, Path file, boolean alpha) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", file.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.turgo.barangayapp.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Where uploaded images live. Selected by app.images.storage (cloudinary | local), see
+// CloudinaryService and LocalImageStorage. Content rows keep the URL the admin was handed;
+// stored_images and image_references keep key(url), which does not depend on the host.
+public interface ImageStorage {
+
+    // Value of app.images.storage this backend answers to; keys the dedup table (see StoredImage)
+    String backend();
+
+    // Stores the file and returns its public URL. sha256 is the file's hex digest when the caller
+    // already has it, else null. The file may be moved away; the caller deletes whatever is left
+    // at the path afterwards.
+    String store(Path file, String contentType, String sha256) throws IOException;
+
+    // The URL as store() returned it, for any URL this backend handed out; other URLs unchanged
+    default String key(String imageUrl) {
+        return imageUrl;
+    }
+
+    // Best effort; never throws
+    void deleteImage(String imageUrl);
+}
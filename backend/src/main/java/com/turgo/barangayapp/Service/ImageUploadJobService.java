@@ -0,0 +1,225 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Service.ImageUploadService.StagedUpload;
+import com.turgo.barangayapp.Service.ImageUploadService.UploadedImage;
+import com.turgo.barangayapp.dtos.UploadJobStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Async image uploads: the request only stages the part and gets a job id back, and the
+// hashing, resizing and storage round trips run on a bounded pool so a slow upstream ties up
+// these workers instead of servlet threads. Jobs live in memory, time out after timeout-ms and
+// are forgotten retention-ms after finishing; the table never holds more than max-jobs.
+@Service
+public class ImageUploadJobService {
+
+    enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.images.upload-jobs.threads:4}")
+    private int threads;
+
+    @Value("${app.images.upload-jobs.queue:32}")
+    private int queueSize;
+
+    @Value("${app.images.upload-jobs.timeout-ms:120000}")
+    private long timeoutMs;
+
+    @Value("${app.images.upload-jobs.retention-ms:600000}")
+    private long retentionMs;
+
+    @Value("${app.images.upload-jobs.max-jobs:1000}")
+    private int maxJobs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger count = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("barangay.images.upload_jobs.queue", pool, executor -> executor.getQueue().size());
+        meterRegistry.gaugeMapSize("barangay.images.upload_jobs.tracked", Tags.empty(), jobs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // --- SUBMIT ---
+    // Takes ownership of the staged file. Throws RejectedExecutionException when the pool's queue
+    // or the job table is full.
+    public UploadJobStatus submit(StagedUpload upload) {
+        if (jobs.size() >= maxJobs) {
+            sweep();
+        }
+        Job job = new Job(UUID.randomUUID().toString(), upload, System.currentTimeMillis() + timeoutMs);
+        if (jobs.size() >= maxJobs || jobs.putIfAbsent(job.id, job) != null) {
+            deleteStaged(upload);
+            throw new RejectedExecutionException("Upload job table is full");
+        }
+
+        try {
+            job.future = pool.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteStaged(upload);
+            throw e;
+        }
+        return job.status();
+    }
+
+    // --- READ ---
+    // Null when the job is unknown or has passed its retention
+    public UploadJobStatus status(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? null : job.status();
+    }
+
+    // --- WORKER ---
+    private void run(Job job) {
+        if (!job.start()) {
+            deleteStaged(job.upload); // Timed out while queued
+            return;
+        }
+        try {
+            UploadedImage image = imageUploadService.upload(job.upload, job::progress);
+            if (image.imageUrl() == null) {
+                job.finish(Status.FAILED, null, "Failed to upload image");
+            } else {
+                job.finish(Status.SUCCEEDED, image, null);
+            }
+        } catch (IllegalArgumentException e) {
+            job.finish(Status.FAILED, null, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            job.finish(Status.FAILED, null, "Too many images are being processed, please try again shortly");
+        } catch (Exception e) {
+            job.finish(Status.FAILED, null, "Failed to upload image: " + e.getMessage());
+        }
+    }
+
+    // --- HOUSEKEEPING ---
+    // Fails jobs past their deadline (interrupting the worker) and forgets finished jobs past retention
+    @Scheduled(fixedDelayString = "${app.images.upload-jobs.sweep-interval-ms:1000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        boolean cancelled = false;
+        for (Job job : jobs.values()) {
+            if (now >= job.deadline && job.finish(Status.FAILED, null, "Upload timed out")) {
+                Future<?> future = job.future;
+                if (future != null) {
+                    cancelled |= future.cancel(true);
+                }
+                if (!job.started()) {
+                    deleteStaged(job.upload); // Its task will never run
+                }
+            }
+            if (job.finishedAt > 0 && now - job.finishedAt >= retentionMs) {
+                jobs.remove(job.id, job);
+            }
+        }
+        if (cancelled) {
+            pool.purge(); // Frees queue slots held by jobs that timed out before starting
+        }
+    }
+
+    private static void deleteStaged(StagedUpload upload) {
+        try {
+            Files.deleteIfExists(upload.file());
+        } catch (IOException e) {
+            System.err.println("Failed to delete staged upload: " + e.getMessage());
+        }
+    }
+
+    // State changes are synchronized so a late result can never overwrite a timeout, or the reverse
+    private static final class Job {
+        private final String id;
+        private final StagedUpload upload;
+        private final long deadline;
+        private volatile Future<?> future;
+
+        private Status state = Status.QUEUED;
+        private boolean started;
+        private int progress;
+        private UploadedImage result;
+        private String error;
+        private volatile long finishedAt;
+
+        Job(String id, StagedUpload upload, long deadline) {
+            this.id = id;
+            this.upload = upload;
+            this.deadline = deadline;
+        }
+
+        synchronized boolean start() {
+            if (state != Status.QUEUED) {
+                return false;
+            }
+            state = Status.RUNNING;
+            started = true;
+            return true;
+        }
+
+        synchronized boolean started() {
+            return started;
+        }
+
+        synchronized void progress(int percent) {
+            if (state == Status.RUNNING) {
+                progress = Math.max(progress, Math.min(99, percent));
+            }
+        }
+
+        synchronized boolean finish(Status outcome, UploadedImage image, String message) {
+            if (state == Status.SUCCEEDED || state == Status.FAILED) {
+                return false;
+            }
+            state = outcome;
+            result = image;
+            error = message;
+            if (outcome == Status.SUCCEEDED) {
+                progress = 100;
+            }
+            finishedAt = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized UploadJobStatus status() {
+            return new UploadJobStatus(id, state.name(), progress,
+                    result == null ? null : result.imageUrl(),
+                    result == null ? null : result.imageSrcset(),
+                    error);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.StoredImage;
+import com.turgo.barangayapp.Repository.StoredImageRepository;
+import com.turgo.barangayapp.Service.ImageRenditionService.Rendition;
+import com.turgo.barangayapp.Service.ImageRenditionService.RenditionSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+// Admin image uploads: stages the part on disk and hashes it. Bytes we already hold are answered
+// from stored_images with one indexed lookup; new ones get their responsive widths rendered on
+// the resize pool, then the original and every rendition go to the configured ImageStorage.
+// stored_images keeps the URLs exactly as the storage returned them (root-relative for local
+// storage without a public-base-url); they are made absolute per request on the way out.
+@Service
+public class ImageUploadService {
+
+    // A duplicate hit writes lastUsedAt at most this often
+    private static final Duration TOUCH_INTERVAL = Duration.ofHours(1);
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageRenditionService renditionService;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    @Value("${app.uploads.staging-dir:${java.io.tmpdir}/barangay-uploads}")
+    private String stagingDir;
+
+    // imageSrcset is null when no rendition was made (small, animated or undecodable image)
+    public record UploadedImage(String imageUrl, String imageSrcset) {
+    }
+
+    // A part moved out of the container's temp area, plus the host it was uploaded through
+    public record StagedUpload(Path file, String contentType, String baseUrl) {
+    }
+
+    public UploadedImage upload(MultipartFile file) throws IOException {
+        return upload(stage(file), percent -> { });
+    }
+
+    // Call on the request thread: the container deletes the part when the request ends
+    public StagedUpload stage(MultipartFile file) throws IOException {
+        Path dir = Files.createDirectories(Path.of(stagingDir));
+        Path staged = dir.resolve(UUID.randomUUID() + ".upload");
+        file.transferTo(staged.toFile());
+        return new StagedUpload(staged, file.getContentType(), ServletUriComponentsBuilder.fromCurrentContextPath().toUriString());
+    }
+
+    // Safe on any thread. Reports percent done to progress and always deletes the staged file.
+    public UploadedImage upload(StagedUpload upload, IntConsumer progress) throws IOException {
+        Path staged = upload.file();
+        RenditionSet renditions = RenditionSet.NONE;
+        try {
+            String sha256 = ContentHash.sha256(staged);
+            StoredImage existing = storedImageRepository.findBySha256AndStorage(sha256, imageStorage.backend()).orElse(null);
+            if (existing != null && stillStored(existing)) {
+                return absolute(existing, upload.baseUrl());
+            }
+            progress.accept(10);
+
+            long size = Files.size(staged);
+            renditions = renditionService.render(staged, upload.contentType(), staged.getParent());
+            progress.accept(40);
+
+            int total = renditions.renditions().size() + 1;
+            List<String> stored = new ArrayList<>();
+            String imageUrl = imageStorage.store(staged, upload.contentType(), sha256);
+            if (imageUrl == null) {
+                return new UploadedImage(null, null);
+            }
+            stored.add(imageUrl);
+            progress.accept(40 + 60 * stored.size() / total);
+
+            String imageSrcset = null;
+            if (!renditions.renditions().isEmpty()) {
+                StringJoiner srcset = new StringJoiner(", ");
+                for (Rendition rendition : renditions.renditions()) {
+                    String url = imageStorage.store(rendition.file(), rendition.contentType(), null);
+                    stored.add(url);
+                    progress.accept(40 + 60 * stored.size() / total);
+                    srcset.add(url + " " + rendition.width() + "w");
+                }
+                srcset.add(imageUrl + " " + renditions.sourceWidth() + "w");
+                imageSrcset = srcset.toString();
+            }
+
+            return absolute(remember(new StoredImage(sha256, imageStorage.backend(), imageUrl, imageSrcset, size), stored), upload.baseUrl());
+        } finally {
+            Files.deleteIfExists(staged);
+            for (Rendition rendition : renditions.renditions()) {
+                Files.deleteIfExists(rendition.file());
+            }
+        }
+    }
+
+    // Marks the row as in use so ImageGarbageCollector leaves it alone (it skips rows used within
+    // app.images.gc.min-age-ms, which must exceed TOUCH_INTERVAL). False if it was just collected.
+    private boolean stillStored(StoredImage image) {
+        LocalDateTime now = LocalDateTime.now();
+        if (image.getLastUsedAt().isAfter(now.minus(TOUCH_INTERVAL))) {
+            return true;
+        }
+        return storedImageRepository.touch(image.getId(), now) > 0;
+    }
+
+    // Backends without a configured public host return root-relative URLs; prefix the upload's host
+    private static UploadedImage absolute(StoredImage image, String baseUrl) {
+        String srcset = image.getImageSrcset();
+        if (srcset != null) {
+            StringJoiner joined = new StringJoiner(", ");
+            for (String candidate : srcset.split(",\\s*")) {
+                joined.add(absolute(candidate, baseUrl));
+            }
+            srcset = joined.toString();
+        }
+        return new UploadedImage(absolute(image.getImageUrl(), baseUrl), srcset);
+    }
+
+    private static String absolute(String url, String baseUrl) {
+        if (url == null || !url.startsWith("/")) {
+            return url;
+        }
+        return baseUrl.replaceAll("/+$", "") + url;
+    }
+
+    // A concurrent upload of the same bytes may have recorded them first: keep theirs and drop
+    // whichever of our copies it does not use. Content-addressed backends stored the very same
+    // files under the very same URLs, so nothing is deleted there.
+    private StoredImage remember(StoredImage image, List<String> storedUrls) {
+        try {
+            return storedImageRepository.save(image);
+        } catch (DataIntegrityViolationException e) {
+            StoredImage winner = storedImageRepository.findBySha256AndStorage(image.getSha256(), image.getStorage())
+                    .orElseThrow(() -> e);
+            Set<String> kept = new HashSet<>();
+            kept.add(winner.getImageUrl());
+            if (winner.getImageSrcset() != null) {
+                for (String candidate : winner.getImageSrcset().split(",")) {
+                    kept.add(candidate.trim().split("\\s+")[0]);
+                }
+            }
+            storedUrls.stream().filter(url -> !kept.contains(url)).forEach(imageStorage::deleteImage);
+            return winner;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.turgo.barangayapp.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Content-addressed images on local disk for tests and offline deployments: a file is named
+// by the SHA-256 of its bytes, so the same image uploaded twice is stored once and a name
+// never changes content (served as immutable by LocalImageController).
+// Layout: <local-dir>/<first two hex chars>/<sha256>.<ext>
+@Service
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    public static final String URL_PATH = "/api/public/images/";
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp",
+            "image/avif", "avif"
+    );
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp",
+            "avif", "image/avif"
+    );
+    private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z]+)");
+
+    @Value("${app.images.local-dir:${user.home}/barangay-images}")
+    private String localDir;
+
+    // Prefix for returned URLs; when blank they are root-relative and ImageUploadService
+    // prefixes the host the upload came in on
+    @Value("${app.images.public-base-url:}")
+    private String publicBaseUrl;
+
+    // --- UPLOAD ---
+    @Override
+    public String backend() {
+        return "local";
+    }
+
+    @Override
+    public String store(Path file, String contentType, String sha256) throws IOException {
+        String extension = contentType == null ? null : EXTENSIONS.get(contentType.toLowerCase());
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported image type");
+        }
+
+        String name = (sha256 != null ? sha256 : ContentHash.sha256(file)) + "." + extension;
+        Path target = pathFor(name);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            // Moved next to the target first (a copy if the file is on another disk) so the final
+            // step is an atomic rename; a concurrent upload of the same bytes may win, either copy is identical
+            Path temp = target.resolveSibling(name + "." + UUID.randomUUID() + ".tmp");
+            try {
+                Files.move(file, temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return publicUrl(name);
+    }
+
+    // The same file may have been handed out through several hosts when public-base-url is blank
+    @Override
+    public String key(String imageUrl) {
+        int at = imageUrl == null ? -1 : imageUrl.lastIndexOf(URL_PATH);
+        if (at < 0) {
+            return imageUrl;
+        }
+        String name = imageUrl.substring(at + URL_PATH.length());
+        return NAME.matcher(name).matches() ? publicUrl(name) : imageUrl;
+    }
+
+    // Removes the bytes for every row that points at them; only call once nothing references the URL
+    @Override
+    public void deleteImage(String imageUrl) {
+        if (imageUrl == null || !imageUrl.contains(URL_PATH)) {
+            return;
+        }
+        try {
+            Path file = resolve(imageUrl.substring(imageUrl.lastIndexOf(URL_PATH) + URL_PATH.length()));
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to delete local image: " + e.getMessage());
+        }
+    }
+
+    // --- READ ---
+    // Stored file for a public name, or null for anything that is not one of ours
+    public Path resolve(String name) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches() || !CONTENT_TYPES.containsKey(matcher.group(2))) {
+            return null;
+        }
+        Path file = pathFor(name);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    public static String contentType(String name) {
+        return CONTENT_TYPES.get(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private Path pathFor(String name) {
+        return Path.of(localDir, name.substring(0, 2), name);
+    }
+
+    private String publicUrl(String name) {
+        return publicBaseUrl.replaceAll("/+$", "") + URL_PATH + name;
+    }
+}
@@ -0,0 +1,10 @@
+package com.turgo.barangayapp.Service;
+
+// Used when no SMTP server is configured (local development): the notification is only logged
+public class LoggingNotificationSender implements NotificationSender {
+
+    @Override
+    public void send(String recipient, String subject, String body) {
+        System.out.println("Notification to " + recipient + ": " + subject);
+    }
+}
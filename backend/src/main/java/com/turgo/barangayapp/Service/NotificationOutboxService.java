@@ -0,0 +1,78 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.ApplicationStatus;
+import com.turgo.barangayapp.Model.NotificationOutbox;
+import com.turgo.barangayapp.Model.ServiceApplication;
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes notification rows for OutboxDispatcher to deliver. Must be called inside the
+// transaction that makes the change, so the row exists if and only if the change committed.
+@Service
+public class NotificationOutboxService {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    // --- SERVICE APPLICATIONS ---
+    public void applicationSubmitted(ServiceApplication application) {
+        enqueue(application,
+                "We received your " + application.getServiceType() + " application",
+                "Your application for " + application.getServiceType() + " has been received and is now pending review.\n" +
+                "We will notify you again once it has been processed.");
+    }
+
+    public void applicationStatusChanged(ServiceApplication application, ApplicationStatus newStatus) {
+        applicationsStatusChanged(List.of(application), newStatus);
+    }
+
+    // Bulk transitions: one row per application, saved together
+    public void applicationsStatusChanged(List<ServiceApplication> applications, ApplicationStatus newStatus) {
+        List<NotificationOutbox> rows = new ArrayList<>();
+        for (ServiceApplication application : applications) {
+            NotificationOutbox row = row(application,
+                    "Your " + application.getServiceType() + " application is now " + newStatus,
+                    "The status of your application for " + application.getServiceType() + " has been updated to " +
+                    newStatus + ".");
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        requireTransaction();
+        outboxRepository.saveAll(rows);
+    }
+
+    private void enqueue(ServiceApplication application, String subject, String text) {
+        requireTransaction();
+        NotificationOutbox row = row(application, subject, text);
+        if (row != null) {
+            outboxRepository.save(row);
+        }
+    }
+
+    private NotificationOutbox row(ServiceApplication application, String subject, String text) {
+        User user = application.getUser();
+        if (user == null || user.getEmail() == null) {
+            return null; // Nobody to notify
+        }
+
+        NotificationOutbox row = new NotificationOutbox();
+        row.setApplicationId(application.getId());
+        row.setRecipient(user.getEmail());
+        row.setSubject(subject);
+        row.setBody("Hello " + (user.getFullName() != null ? user.getFullName() : "resident") + ",\n\n" + text);
+        return row;
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox rows must be written in the caller's transaction");
+        }
+    }
+}
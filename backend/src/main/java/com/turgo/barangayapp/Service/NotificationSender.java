@@ -0,0 +1,8 @@
+package com.turgo.barangayapp.Service;
+
+// Delivery channel for outbox notifications. Implementations throw on any failure so the
+// dispatcher can retry; a call that returns normally counts as delivered.
+public interface NotificationSender {
+
+    void send(String recipient, String subject, String body);
+}
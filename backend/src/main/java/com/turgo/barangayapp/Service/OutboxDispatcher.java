@@ -0,0 +1,150 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.NotificationOutbox;
+import com.turgo.barangayapp.Model.OutboxStatus;
+import com.turgo.barangayapp.Repository.NotificationOutboxRepository;
+import com.turgo.barangayapp.Repository.ServiceApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains notification_outbox in batches. A batch is claimed in a short transaction (row locks
+// plus a lease on next_attempt_at), then sent outside it, so slow mail never holds DB locks.
+// Failures back off exponentially; after max-attempts the row is parked as FAILED.
+@Service
+public class OutboxDispatcher {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final ServiceApplicationRepository applicationRepository;
+    private final NotificationSender sender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-base-ms:30000}")
+    private long retryBaseMs;
+
+    @Value("${app.outbox.retry-max-ms:3600000}")
+    private long retryMaxMs;
+
+    public OutboxDispatcher(NotificationOutboxRepository outboxRepository, ServiceApplicationRepository applicationRepository,
+                            NotificationSender sender, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.applicationRepository = applicationRepository;
+        this.sender = sender;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("barangay.outbox.depth", depth);
+        // Time spent in the sender per attempt
+        sendTimer = Timer.builder("barangay.outbox.send").register(meterRegistry);
+        // Enqueue to successful delivery, including retries
+        deliveryTimer = Timer.builder("barangay.outbox.delivery").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.poll-interval-ms:5000}", fixedDelayString = "${app.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        try {
+            drain();
+        } catch (Exception e) {
+            System.err.println("Outbox dispatch failed: " + e.getMessage());
+        }
+    }
+
+    // Sends everything currently due; returns how many rows were attempted
+    public int drain() {
+        int attempted = 0;
+        while (true) {
+            List<NotificationOutbox> batch = claimBatch();
+            for (NotificationOutbox row : batch) {
+                deliver(row);
+            }
+            attempted += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        depth.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+        return attempted;
+    }
+
+    private List<NotificationOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> due = outboxRepository.lockDue(now, batchSize);
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(NotificationOutbox::getId).toList(), now.plusNanos(leaseMs * 1_000_000));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(NotificationOutbox row) {
+        long started = System.nanoTime();
+        Exception error = null;
+        try {
+            sender.send(row.getRecipient(), row.getSubject(), row.getBody());
+        } catch (Exception e) {
+            error = e;
+        }
+        sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            failed(row, error);
+            return;
+        }
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        outboxRepository.markSent(row.getId(), sentAt);
+        if (row.getApplicationId() != null) {
+            applicationRepository.markNotificationSent(row.getApplicationId());
+        }
+        deliveryTimer.record(Duration.between(row.getCreatedAt(), sentAt));
+        counter("sent").increment();
+    }
+
+    private void failed(NotificationOutbox row, Exception e) {
+        int attempts = row.getAttempts() + 1;
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+
+        if (attempts >= maxAttempts) {
+            outboxRepository.markAttemptFailed(row.getId(), OutboxStatus.FAILED, attempts, row.getNextAttemptAt(), error);
+            counter("failed").increment();
+            System.err.println("Giving up on notification " + row.getId() + " after " + attempts + " attempts: " + error);
+            return;
+        }
+
+        long delayMs = Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+        outboxRepository.markAttemptFailed(row.getId(), OutboxStatus.PENDING, attempts,
+                LocalDateTime.now().plusNanos(delayMs * 1_000_000), error);
+        counter("retried").increment();
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("barangay.outbox.attempts").tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.Program;
+import com.turgo.barangayapp.Repository.ParticipantCount;
+import com.turgo.barangayapp.Repository.ProgramRepository;
+import com.turgo.barangayapp.Repository.ServiceRepository;
+import com.turgo.barangayapp.dtos.ParticipantCounted;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pairs listed programs/services with their participant count from a single grouped
+// COUNT per list, instead of loading every participant row.
+@Service
+public class ParticipantCountService {
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    public List<ParticipantCounted<Program>> countPrograms(List<Program> programs) {
+        if (programs.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> counts = toMap(programRepository.countParticipants(programs.stream().map(Program::getId).toList()));
+        return programs.stream()
+                .map(p -> new ParticipantCounted<>(p, counts.getOrDefault(p.getId(), 0L)))
+                .toList();
+    }
+
+    public List<ParticipantCounted<com.turgo.barangayapp.Model.Service>> countServices(List<com.turgo.barangayapp.Model.Service> services) {
+        if (services.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> counts = toMap(serviceRepository.countParticipants(
+                services.stream().map(com.turgo.barangayapp.Model.Service::getId).toList()));
+        return services.stream()
+                .map(s -> new ParticipantCounted<>(s, counts.getOrDefault(s.getId(), 0L)))
+                .toList();
+    }
+
+    private static Map<Long, Long> toMap(List<ParticipantCount> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        rows.forEach(row -> counts.put(row.getId(), row.getParticipantCount()));
+        return counts;
+    }
+}
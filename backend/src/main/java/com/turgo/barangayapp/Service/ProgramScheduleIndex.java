@@ -0,0 +1,129 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Repository.ProgramRepository;
+import com.turgo.barangayapp.dtos.ScheduleConflict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Per-user interval tree over the programs they have joined, so a join can warn about
+// overlapping dates in O(log n + k) without loading every joined program each time.
+// Built on first use for a user and dropped whenever their memberships or a joined
+// program's dates change.
+@Service
+public class ProgramScheduleIndex {
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Value("${app.program-schedule.max-cached-users:10000}")
+    private int maxCachedUsers;
+
+    private final Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a build that raced one is used once but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // --- READ ---
+    // Joined programs overlapping [start, end), excluding the program itself
+    public List<ScheduleConflict> overlapping(Long userId, Long programId, LocalDateTime start, LocalDateTime end) {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        tree(userId).collect(start, end, conflicts);
+        conflicts.removeIf(conflict -> conflict.programId().equals(programId));
+        return conflicts;
+    }
+
+    // --- INVALIDATION ---
+    public void invalidateUser(Long userId) {
+        invalidations.incrementAndGet();
+        trees.remove(userId);
+    }
+
+    // Dates changed or program deleted: drop every tree that contains it
+    public void invalidateProgram(Long programId) {
+        invalidations.incrementAndGet();
+        trees.values().removeIf(tree -> tree.programIds.contains(programId));
+    }
+
+    private IntervalTree tree(Long userId) {
+        IntervalTree tree = trees.get(userId);
+        if (tree != null) {
+            return tree;
+        }
+        long seen = invalidations.get();
+        tree = new IntervalTree(programRepository.findJoinedSchedules(userId, LocalDateTime.now()));
+        if (invalidations.get() != seen) {
+            return tree;
+        }
+        if (trees.size() >= maxCachedUsers) {
+            trees.clear(); // Crude bound; trees are cheap to rebuild
+        }
+        trees.put(userId, tree);
+        return tree;
+    }
+
+    // Intervals sorted by start, laid out as an implicit balanced BST (node = middle of its range),
+    // with each node holding the latest end in its subtree so non-overlapping branches are skipped.
+    private static final class IntervalTree {
+        private final ScheduleConflict[] nodes;
+        private final LocalDateTime[] maxEnd;
+        private final Set<Long> programIds;
+
+        IntervalTree(List<ScheduleConflict> intervals) {
+            nodes = intervals.stream()
+                    .sorted(Comparator.comparing(ScheduleConflict::startDate))
+                    .toArray(ScheduleConflict[]::new);
+            maxEnd = new LocalDateTime[nodes.length];
+            programIds = intervals.stream().map(ScheduleConflict::programId).collect(Collectors.toSet());
+            build(0, nodes.length - 1);
+        }
+
+        private LocalDateTime build(int lo, int hi) {
+            if (lo > hi) {
+                return null;
+            }
+            int mid = (lo + hi) >>> 1;
+            LocalDateTime max = nodes[mid].endDate();
+            LocalDateTime left = build(lo, mid - 1);
+            LocalDateTime right = build(mid + 1, hi);
+            if (left != null && left.isAfter(max)) max = left;
+            if (right != null && right.isAfter(max)) max = right;
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        void collect(LocalDateTime start, LocalDateTime end, List<ScheduleConflict> out) {
+            collect(0, nodes.length - 1, start, end, out);
+        }
+
+        // Overlap means node.start < end && node.end > start
+        private void collect(int lo, int hi, LocalDateTime start, LocalDateTime end, List<ScheduleConflict> out) {
+            if (lo > hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (!maxEnd[mid].isAfter(start)) {
+                return; // Everything below ends before the window opens
+            }
+            collect(lo, mid - 1, start, end, out);
+            ScheduleConflict node = nodes[mid];
+            if (!node.startDate().isBefore(end)) {
+                return; // This node and everything to its right start after the window closes
+            }
+            if (node.endDate().isAfter(start)) {
+                out.add(node);
+            }
+            collect(mid + 1, hi, start, end, out);
+        }
+    }
+}
@@ -1,17 +1,40 @@
 package com.turgo.barangayapp.Service;
 
+import com.turgo.barangayapp.Model.ImageOwner;
 import com.turgo.barangayapp.Model.Program;
+import com.turgo.barangayapp.Model.ProgramWaitlistEntry;
 import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Repository.MembershipCheck;
 import com.turgo.barangayapp.Repository.ProgramRepository;
+import com.turgo.barangayapp.Repository.ProgramWaitlistRepository;
+import com.turgo.barangayapp.Repository.WaitlistSlot;
 import com.turgo.barangayapp.Service.UserServices; // Needed for removing participants
+import com.turgo.barangayapp.dtos.BulkParticipantResult;
+import com.turgo.barangayapp.dtos.CursorPage;
+import com.turgo.barangayapp.dtos.PageCursor;
+import com.turgo.barangayapp.dtos.ParticipantCounted;
+import com.turgo.barangayapp.dtos.ParticipantSummary;
+import com.turgo.barangayapp.dtos.ProgramJoinResult;
+import com.turgo.barangayapp.dtos.ScheduleConflict;
+import com.turgo.barangayapp.dtos.WaitlistPosition;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProgramService {
@@ -22,15 +45,68 @@ public class ProgramService {
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private UpcomingContentIndex upcomingContentIndex;
+
+    @Autowired
+    private ParticipantCountService participantCountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProgramWaitlistRepository waitlistRepository;
+
+    @Autowired
+    private ProgramWaitlistIndex waitlistIndex;
+
+    @Autowired
+    private ProgramScheduleIndex scheduleIndex;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resyncSeats() {
+        programRepository.resyncSeatsTaken();
+    }
+
     // --- READ ---
-    public List<Program> getAllActivePrograms() {
-        return programRepository.findByEndDateAfterOrderByStartDateAsc(LocalDateTime.now());
+    public List<ParticipantCounted<Program>> getAllActivePrograms() {
+        return participantCountService.countPrograms(upcomingContentIndex.activePrograms(LocalDateTime.now()));
+    }
+
+    // Keyset pagination, cursor comes from the previous page
+    public CursorPage<ParticipantCounted<Program>> getActiveProgramPage(String cursor, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Program> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = programRepository.findActivePage(now, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = programRepository.findActivePageAfter(now, after.date(), after.id(), limit);
+        }
+        CursorPage<Program> page = CursorPage.of(rows, size, p -> new PageCursor(p.getStartDate(), p.getId()));
+        return new CursorPage<>(participantCountService.countPrograms(page.items()), page.nextCursor());
     }
 
     public Optional<Program> getProgramById(Long id) {
         return programRepository.findById(id);
     }
 
+    public List<Long> getJoinedProgramIds(Long userId) {
+        return programRepository.findJoinedProgramIds(userId);
+    }
+
+    // Admin roster, one page at a time
+    public Page<ParticipantSummary> getParticipants(Long programId, int page, int size) {
+        return programRepository.findParticipants(programId, PageRequest.of(page, size));
+    }
+
     // --- CREATE ---
     public Program createProgram(Map<String, String> request) {
         Program program = new Program();
@@ -39,31 +115,58 @@ public class ProgramService {
         program.setStartDate(LocalDateTime.parse(request.get("startDate"), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         program.setEndDate(LocalDateTime.parse(request.get("endDate"), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         program.setActive(true);
+        program.setCapacity(parseCapacity(request.get("capacity")));
 
         if (request.containsKey("imageUrl")) {
             program.setImageUrl(request.get("imageUrl"));
+            program.setImageSrcset(request.get("imageSrcset"));
         }
-        return programRepository.save(program);
+        Program saved = programRepository.save(program);
+        imageReferenceService.track(ImageOwner.PROGRAM, saved.getId(), saved.getImageUrl());
+        upcomingContentIndex.putProgram(saved);
+        contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+        return saved;
     }
 
     // --- UPDATE ---
     public Optional<Program> updateProgram(Long id, Map<String, String> request) {
         return programRepository.findById(id).map(program -> {
+            boolean datesChanged = request.containsKey("startDate") || request.containsKey("endDate");
             if (request.containsKey("name")) program.setName(request.get("name"));
             if (request.containsKey("description")) program.setDescription(request.get("description"));
             if (request.containsKey("startDate")) program.setStartDate(LocalDateTime.parse(request.get("startDate"), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
             if (request.containsKey("endDate")) program.setEndDate(LocalDateTime.parse(request.get("endDate"), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
             if (request.containsKey("isActive")) program.setActive(Boolean.parseBoolean(request.get("isActive")));
-            if (request.containsKey("imageUrl")) program.setImageUrl(request.get("imageUrl"));
+            if (request.containsKey("imageUrl")) {
+                program.setImageUrl(request.get("imageUrl"));
+                program.setImageSrcset(request.get("imageSrcset"));
+            }
+            if (request.containsKey("capacity")) program.setCapacity(parseCapacity(request.get("capacity")));
 
-            return programRepository.save(program);
+            Program saved = programRepository.save(program);
+            imageReferenceService.track(ImageOwner.PROGRAM, saved.getId(), saved.getImageUrl());
+            upcomingContentIndex.putProgram(saved);
+            contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+            if (datesChanged) {
+                scheduleIndex.invalidateProgram(id);
+            }
+            if (request.containsKey("capacity")) {
+                fillFreeSeats(id); // A raised capacity goes to the waitlist first
+            }
+            return saved;
         });
     }
 
     // --- DELETE ---
     public boolean deleteProgram(Long id) {
         if (programRepository.existsById(id)) {
+            waitlistRepository.deleteByProgram(id);
+            waitlistIndex.invalidate(id);
             programRepository.deleteById(id);
+            imageReferenceService.untrack(ImageOwner.PROGRAM, id);
+            scheduleIndex.invalidateProgram(id);
+            upcomingContentIndex.removeProgram(id);
+            contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
             return true;
         }
         return false;
@@ -71,57 +174,296 @@ public class ProgramService {
 
     // --- PARTICIPATION LOGIC ---
 
-    // Returns a String message if error, or "SUCCESS" if okay
-    public String joinProgram(Long programId, User user) {
+    // Status is an error message, or "SUCCESS" with the user's overlapping programs (checked
+    // against the interval index, see ProgramScheduleIndex)
+    public ProgramJoinResult joinProgram(Long programId, User user) {
         Optional<Program> programOpt = programRepository.findById(programId);
 
-        if (programOpt.isEmpty()) return "Program not found";
+        if (programOpt.isEmpty()) return ProgramJoinResult.error("Program not found");
         Program program = programOpt.get();
 
         // Check if program is active/future
         if (program.getEndDate().isBefore(LocalDateTime.now()) || !program.isActive()) {
-            return "Cannot join: Program has ended or is inactive";
+            return ProgramJoinResult.error("Cannot join: Program has ended or is inactive");
         }
 
-        if (program.getParticipants().contains(user)) {
-            return "Already joined this program";
+        // Seat first: the conditional UPDATE locks the program row before the membership insert
+        // takes its foreign-key lock on it, so racing joins queue instead of deadlocking. A
+        // duplicate insert (primary key) rolls the seat back with it.
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (programRepository.reserveSeat(programId) == 0) {
+                    throw new ProgramFullException();
+                }
+                programRepository.insertParticipant(programId, user.getId());
+            });
+        } catch (ProgramFullException e) {
+            if (programRepository.isParticipant(programId, user.getId())) {
+                return ProgramJoinResult.error("Already joined this program");
+            }
+            return ProgramJoinResult.error(programRepository.existsById(programId) ? "Program is full" : "Program not found");
+        } catch (DataIntegrityViolationException e) {
+            if (programRepository.isParticipant(programId, user.getId())) {
+                return ProgramJoinResult.error("Already joined this program");
+            }
+            return ProgramJoinResult.error("Program not found"); // Deleted between the lookup and the insert
         }
 
-        program.getParticipants().add(user);
-        programRepository.save(program);
-        return "SUCCESS";
+        // Normally nobody is waiting while seats are free; clean up if this user was
+        if (waitlistRepository.deleteEntry(programId, user.getId()) > 0) {
+            waitlistIndex.removed(programId, user.getId());
+        }
+        // Read from the user's cached tree before it is dropped; the joined program is excluded by id
+        List<ScheduleConflict> conflicts = scheduleIndex.overlapping(user.getId(), programId, program.getStartDate(), program.getEndDate());
+        scheduleIndex.invalidateUser(user.getId());
+        contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+        return new ProgramJoinResult("SUCCESS", conflicts);
     }
 
     public String leaveProgram(Long programId, User user) {
-        Optional<Program> programOpt = programRepository.findById(programId);
-        if (programOpt.isEmpty()) return "Program not found";
-
-        Program program = programOpt.get();
-        if (!program.getParticipants().contains(user)) {
-            return "Not a participant of this program";
+        if (!removeAndPromote(programId, user.getId())) {
+            return programRepository.existsById(programId) ? "Not a participant of this program" : "Program not found";
         }
 
-        program.getParticipants().remove(user);
-        programRepository.save(program);
+        contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
         return "SUCCESS";
     }
 
     public String removeParticipant(Long programId, Long userId) {
-        Optional<Program> programOpt = programRepository.findById(programId);
-        Optional<User> userOpt = userServices.findById(userId);
+        if (removeAndPromote(programId, userId)) {
+            contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+            return "SUCCESS";
+        }
 
-        if (programOpt.isEmpty() || userOpt.isEmpty()) {
+        if (!programRepository.existsById(programId) || userServices.findById(userId).isEmpty()) {
             return "Program or user not found";
         }
+        return "User was not a participant";
+    }
+
+    // --- BULK (admin) ---
+    // Runs under the program row lock, which every join, leave and promotion takes before writing
+    // memberships, so the membership check cannot go stale: one query validates every id, one
+    // UPDATE reserves all the seats, then one INSERT adds everyone. Throws ProgramFullException
+    // (nothing added) if they don't all fit.
+    public List<BulkParticipantResult> addParticipants(Long programId, List<Long> userIds) {
+        List<Long> ids = userIds.stream().distinct().toList();
+        BulkOutcome outcome = transactionTemplate.execute(status -> {
+            Map<Long, Long> memberships = lockAndCheckMemberships(programId, ids);
+            List<Long> toAdd = ids.stream().filter(id -> Long.valueOf(0).equals(memberships.get(id))).toList();
+
+            Set<Long> added = new HashSet<>(toAdd);
+            if (!toAdd.isEmpty()) {
+                if (programRepository.reserveSeats(programId, toAdd.size()) == 0) {
+                    throw new ProgramFullException();
+                }
+                int inserted = programRepository.insertParticipants(programId, toAdd);
+                if (inserted < toAdd.size()) {
+                    // Users deleted since the check were not inserted; give their seats back
+                    programRepository.releaseSeats(programId, toAdd.size() - inserted);
+                    Map<Long, Long> after = checkMemberships(programId, toAdd);
+                    added.removeIf(id -> after.getOrDefault(id, 0L) == 0);
+                }
+                if (!added.isEmpty()) {
+                    waitlistRepository.deleteEntries(programId, added);
+                }
+            }
+
+            Map<Long, String> statuses = new HashMap<>();
+            for (Long id : ids) {
+                statuses.put(id, added.contains(id) ? "ADDED"
+                        : memberships.getOrDefault(id, 0L) > 0 ? "ALREADY_PARTICIPANT" : "USER_NOT_FOUND");
+            }
+            return new BulkOutcome(statuses, new ArrayList<>(added));
+        });
+
+        if (!outcome.dequeued().isEmpty()) {
+            outcome.dequeued().forEach(userId -> dequeued(programId, userId));
+            contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+        }
+        return ids.stream().map(id -> new BulkParticipantResult(id, outcome.statuses().get(id))).toList();
+    }
 
+    // One DELETE for all members among the ids, under the same lock; the freed seats go to the waitlist
+    public List<BulkParticipantResult> removeParticipants(Long programId, List<Long> userIds) {
+        List<Long> ids = userIds.stream().distinct().toList();
+        BulkOutcome outcome = transactionTemplate.execute(status -> {
+            Map<Long, Long> memberships = lockAndCheckMemberships(programId, ids);
+            List<Long> toRemove = ids.stream().filter(id -> memberships.getOrDefault(id, 0L) > 0).toList();
+
+            List<Long> promoted = List.of();
+            if (!toRemove.isEmpty()) {
+                programRepository.releaseSeats(programId, programRepository.deleteParticipants(programId, toRemove));
+                promoted = promoteWaitlisted(programId);
+            }
+
+            Map<Long, String> statuses = new HashMap<>();
+            for (Long id : ids) {
+                statuses.put(id, !memberships.containsKey(id) ? "USER_NOT_FOUND"
+                        : memberships.get(id) > 0 ? "REMOVED" : "NOT_PARTICIPANT");
+            }
+            return new BulkOutcome(statuses, promoted);
+        });
+
+        List<Long> removed = ids.stream().filter(id -> "REMOVED".equals(outcome.statuses().get(id))).toList();
+        if (!removed.isEmpty()) {
+            removed.forEach(scheduleIndex::invalidateUser);
+            outcome.dequeued().forEach(userId -> dequeued(programId, userId));
+            contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+        }
+        return ids.stream().map(id -> new BulkParticipantResult(id, outcome.statuses().get(id))).toList();
+    }
+
+    // Must run inside a transaction; see promoteWaitlisted for the lock
+    private Map<Long, Long> lockAndCheckMemberships(Long programId, List<Long> userIds) {
+        if (programRepository.lockForSeats(programId) == null) {
+            throw new IllegalArgumentException("Program not found");
+        }
+        return checkMemberships(programId, userIds);
+    }
+
+    private Map<Long, Long> checkMemberships(Long programId, List<Long> userIds) {
+        Map<Long, Long> memberships = new HashMap<>();
+        for (MembershipCheck check : programRepository.checkMemberships(programId, userIds)) {
+            memberships.put(check.getId(), check.getMemberships());
+        }
+        return memberships;
+    }
+
+    // --- WAITLIST ---
+    public String joinWaitlist(Long programId, User user) {
+        Optional<Program> programOpt = programRepository.findById(programId);
+
+        if (programOpt.isEmpty()) return "Program not found";
         Program program = programOpt.get();
-        User user = userOpt.get();
 
-        if (program.getParticipants().remove(user)) {
-            programRepository.save(program);
-            return "SUCCESS";
-        } else {
-            return "User was not a participant";
+        if (program.getEndDate().isBefore(LocalDateTime.now()) || !program.isActive()) {
+            return "Cannot join: Program has ended or is inactive";
+        }
+        if (programRepository.isParticipant(programId, user.getId())) {
+            return "Already joined this program";
+        }
+        if (program.getCapacity() == null || program.getSeatsTaken() < program.getCapacity()) {
+            return "Program still has open seats";
+        }
+
+        ProgramWaitlistEntry entry = new ProgramWaitlistEntry();
+        entry.setProgram(program);
+        entry.setUser(user);
+        ProgramWaitlistEntry saved;
+        try {
+            saved = waitlistRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            return "Already on the waitlist";
+        }
+        waitlistIndex.added(programId, saved.getId(), user.getId());
+
+        // A seat may have been freed between the capacity check and the insert
+        fillFreeSeats(programId);
+        return "SUCCESS";
+    }
+
+    public String leaveWaitlist(Long programId, User user) {
+        if (waitlistRepository.deleteEntry(programId, user.getId()) == 0) {
+            return "Not on the waitlist";
+        }
+        waitlistIndex.removed(programId, user.getId());
+        return "SUCCESS";
+    }
+
+    public List<WaitlistPosition> getWaitlistPositions(Long userId) {
+        return waitlistRepository.findWaitlistedProgramIds(userId).stream()
+                .map(programId -> new WaitlistPosition(programId, waitlistIndex.position(programId, userId), waitlistIndex.size(programId)))
+                .toList();
+    }
+
+    // Blank means unlimited
+    private static Integer parseCapacity(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int capacity;
+        try {
+            capacity = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Capacity must be a whole number");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        return capacity;
+    }
+
+    // Frees the seat and hands it to the head of the waitlist in the same transaction
+    private boolean removeAndPromote(Long programId, Long userId) {
+        List<Long> dequeued = transactionTemplate.execute(status -> {
+            if (programRepository.lockForSeats(programId) == null
+                    || programRepository.deleteParticipant(programId, userId) == 0) {
+                return null;
+            }
+            programRepository.releaseSeat(programId);
+            return promoteWaitlisted(programId);
+        });
+        if (dequeued == null) {
+            return false;
+        }
+        scheduleIndex.invalidateUser(userId);
+        dequeued.forEach(waitingUserId -> dequeued(programId, waitingUserId));
+        return true;
+    }
+
+    private void fillFreeSeats(Long programId) {
+        List<Long> dequeued = transactionTemplate.execute(status -> promoteWaitlisted(programId));
+        if (dequeued != null && !dequeued.isEmpty()) {
+            dequeued.forEach(waitingUserId -> dequeued(programId, waitingUserId));
+            contentVersionService.bump(ContentVersionService.Content.PROGRAMS);
+        }
+    }
+
+    private void dequeued(Long programId, Long userId) {
+        waitlistIndex.removed(programId, userId);
+        scheduleIndex.invalidateUser(userId); // Promoted users have a new program on their schedule
+    }
+
+    // Must run inside a transaction. The program row lock makes promotions for one program
+    // take turns (other programs are unaffected), and each free seat goes to the oldest entry.
+    // Returns every user taken off the queue.
+    private List<Long> promoteWaitlisted(Long programId) {
+        List<Long> dequeued = new ArrayList<>();
+        if (programRepository.lockForSeats(programId) == null) {
+            return dequeued;
+        }
+
+        while (true) {
+            List<WaitlistSlot> head = waitlistRepository.findHead(programId);
+            if (head.isEmpty()) {
+                break;
+            }
+            WaitlistSlot next = head.get(0);
+            if (programRepository.isParticipant(programId, next.getUserId())) {
+                // Got in directly in the meantime, just drop the stale entry
+                waitlistRepository.deleteEntryById(next.getId());
+                dequeued.add(next.getUserId());
+                continue;
+            }
+            if (programRepository.reserveSeat(programId) == 0) {
+                break;
+            }
+            waitlistRepository.deleteEntryById(next.getId());
+            programRepository.insertParticipant(programId, next.getUserId());
+            dequeued.add(next.getUserId());
+        }
+        return dequeued;
+    }
+
+    // Per-user statuses of a bulk change, plus the users taken off the waitlist
+    private record BulkOutcome(Map<Long, String> statuses, List<Long> dequeued) {
+    }
+
+    // Aborts a join or bulk add when the seats are gone; nothing is written
+    public static class ProgramFullException extends RuntimeException {
+        public ProgramFullException() {
+            super("Program is full");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Repository.ProgramWaitlistRepository;
+import com.turgo.barangayapp.Repository.WaitlistSlot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory rank index over each program's waitlist so "what is my position" is O(log n)
+// instead of counting rows ahead of you. Loaded lazily per program from the DB and kept
+// current by ProgramService after each committed waitlist change.
+@Service
+public class ProgramWaitlistIndex {
+
+    @Autowired
+    private ProgramWaitlistRepository waitlistRepository;
+
+    private final Map<Long, FifoRank> queues = new ConcurrentHashMap<>();
+
+    // Bumped on every change; a load that raced a change is used once but not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    // --- READ ---
+    // 1-based position, or 0 when the user is not waiting
+    public int position(Long programId, Long userId) {
+        return queue(programId).position(userId);
+    }
+
+    public int size(Long programId) {
+        return queue(programId).size();
+    }
+
+    // --- WRITE (call after the DB change has committed) ---
+    public void added(Long programId, Long entryId, Long userId) {
+        changes.incrementAndGet();
+        FifoRank queue = queues.get(programId);
+        if (queue != null && !queue.append(entryId, userId)) {
+            // Committed out of id order with a concurrent join; reload on next read
+            queues.remove(programId, queue);
+        }
+    }
+
+    public void removed(Long programId, Long userId) {
+        changes.incrementAndGet();
+        FifoRank queue = queues.get(programId);
+        if (queue != null) {
+            queue.remove(userId);
+        }
+    }
+
+    public void invalidate(Long programId) {
+        changes.incrementAndGet();
+        queues.remove(programId);
+    }
+
+    private FifoRank queue(Long programId) {
+        FifoRank queue = queues.get(programId);
+        if (queue != null) {
+            return queue;
+        }
+
+        long seen = changes.get();
+        List<WaitlistSlot> rows = waitlistRepository.findQueue(programId);
+        FifoRank loaded = new FifoRank(rows.size());
+        rows.forEach(row -> loaded.append(row.getId(), row.getUserId()));
+
+        if (changes.get() != seen) {
+            return loaded;
+        }
+        FifoRank existing = queues.putIfAbsent(programId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Slots in FIFO order with a Fenwick tree of occupancy: a user's position is the
+    // prefix sum up to their slot. Leaving clears the slot; the array compacts when full.
+    private static final class FifoRank {
+        private long[] entryIds;
+        private int[] tree;
+        private final Map<Long, Integer> slotsByUser = new HashMap<>();
+        private int used;
+
+        FifoRank(int expected) {
+            allocate(Math.max(16, expected * 2));
+        }
+
+        synchronized boolean append(Long entryId, Long userId) {
+            if (slotsByUser.containsKey(userId)) {
+                return true; // Already loaded from the DB
+            }
+            if (used > 0 && entryId <= entryIds[used - 1]) {
+                return false;
+            }
+            if (used == entryIds.length) {
+                compact();
+            }
+            entryIds[used] = entryId;
+            slotsByUser.put(userId, used);
+            add(used, 1);
+            used++;
+            return true;
+        }
+
+        synchronized void remove(Long userId) {
+            Integer slot = slotsByUser.remove(userId);
+            if (slot != null) {
+                add(slot, -1);
+            }
+        }
+
+        synchronized int position(Long userId) {
+            Integer slot = slotsByUser.get(userId);
+            return slot == null ? 0 : prefix(slot);
+        }
+
+        synchronized int size() {
+            return slotsByUser.size();
+        }
+
+        // Drops cleared slots and leaves room for as many again
+        private void compact() {
+            long[] oldIds = entryIds;
+            Map<Integer, Long> usersBySlot = new HashMap<>();
+            slotsByUser.forEach((user, slot) -> usersBySlot.put(slot, user));
+
+            int live = slotsByUser.size();
+            allocate(Math.max(16, live * 2));
+            slotsByUser.clear();
+            used = 0;
+            for (int slot = 0; slot < oldIds.length; slot++) {
+                Long user = usersBySlot.get(slot);
+                if (user != null) {
+                    entryIds[used] = oldIds[slot];
+                    slotsByUser.put(user, used);
+                    add(used, 1);
+                    used++;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            entryIds = new long[capacity];
+            tree = new int[capacity + 1];
+        }
+
+        private void add(int slot, int delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int prefix(int slot) {
+            int sum = 0;
+            for (int i = slot + 1; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Repository.OfficialRepository;
+import com.turgo.barangayapp.Repository.ServiceRepository;
+import com.turgo.barangayapp.Service.ContentVersionService.Content;
+import com.turgo.barangayapp.Service.ContentVersionService.Stamp;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+// Keeps the rendered JSON of each public list (plain and gzipped) for the current collection version,
+// so hot endpoints skip the query and Jackson entirely and just copy bytes to the response.
+@Service
+public class PublicSnapshotService {
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private OfficialRepository officialRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ParticipantCountService participantCountService;
+
+    private record Snapshot(Stamp stamp, byte[] raw, byte[] gzip) {
+    }
+
+    private final Map<Content, AtomicReference<Snapshot>> snapshots = new EnumMap<>(Content.class);
+    private final Map<Content, AtomicBoolean> rebuilding = new EnumMap<>(Content.class);
+
+    // One background thread is plenty: rebuilds are rare and each one is a single query
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "public-snapshot-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PublicSnapshotService() {
+        for (Content content : Content.values()) {
+            snapshots.put(content, new AtomicReference<>());
+            rebuilding.put(content, new AtomicBoolean(false));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        contentVersionService.addListener(this::scheduleRebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Content content : Content.values()) {
+            scheduleRebuild(content);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // The pre-rendered response if the snapshot matches the current version.
+    // Returns null (and kicks off a rebuild) when the caller should take the normal path instead.
+    public ResponseEntity<byte[]> response(Content content, HttpServletRequest request) {
+        Snapshot snapshot = snapshots.get(content).get();
+        Stamp current = contentVersionService.current(content);
+
+        if (snapshot == null || !snapshot.stamp().etag().equals(current.etag())) {
+            scheduleRebuild(content);
+            return null;
+        }
+
+        boolean gzip = acceptsGzip(request);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(snapshot.stamp().etag())
+                .lastModified(snapshot.stamp().lastModified());
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? snapshot.gzip() : snapshot.raw());
+    }
+
+    private void scheduleRebuild(Content content) {
+        if (rebuilding.get(content).compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> rebuild(content));
+        }
+    }
+
+    private void rebuild(Content content) {
+        Snapshot built = null;
+        try {
+            // Take the stamp before loading: a write that races the load leaves us labelled
+            // one version behind, which the next read notices and rebuilds
+            Stamp stamp = contentVersionService.current(content);
+            byte[] raw = jsonMapper.writeValueAsBytes(load(content, stamp));
+            built = new Snapshot(stamp, raw, gzip(raw));
+            snapshots.get(content).set(built);
+        } catch (Exception e) {
+            System.err.println("Failed to rebuild public snapshot for " + content.getPath() + ": " + e.getMessage());
+        } finally {
+            rebuilding.get(content).set(false);
+        }
+
+        if (built != null && !built.stamp().etag().equals(contentVersionService.current(content).etag())) {
+            scheduleRebuild(content);
+        }
+    }
+
+    // Shares the controllers' in-flight load for this version when there is one. Safe because
+    // every flight under a version key started after that version was observed.
+    private Object load(Content content, Stamp stamp) {
+        return switch (content) {
+            case ANNOUNCEMENTS -> requestCoalescer.load(content.getPath(), stamp.etag(), announcementService::getAllAnnouncements);
+            case EVENTS -> requestCoalescer.load(content.getPath(), stamp.etag(), eventService::getUpcomingEvents);
+            case PROGRAMS -> requestCoalescer.load(content.getPath(), stamp.etag(), programService::getAllActivePrograms);
+            case OFFICIALS -> officialRepository.findByIsActiveTrueOrderByPositionAsc();
+            case SERVICES -> participantCountService.countServices(serviceRepository.findByIsActiveTrueOrderByNameAsc());
+        };
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!"gzip".equalsIgnoreCase(coding) && !"*".equals(coding)) {
+                continue;
+            }
+            // Honour an explicit "gzip;q=0" opt-out
+            for (int i = 1; i < tokens.length; i++) {
+                if (tokens[i].trim().replace(" ", "").matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
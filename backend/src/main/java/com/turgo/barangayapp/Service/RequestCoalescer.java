@@ -0,0 +1,64 @@
+package com.turgo.barangayapp.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Single-flight for identical reads: while one caller is loading a key, every other caller
+// for the same key waits for that load and shares its result instead of hitting the DB again.
+@Service
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("barangay.coalescer.in_flight", Tags.empty(), inFlight);
+    }
+
+    // "name" groups the metrics (keep it low-cardinality); "version" must change whenever the
+    // underlying data does, so callers that arrive after a write never join a load started before it.
+    @SuppressWarnings("unchecked")
+    public <T> T load(String name, String version, Supplier<T> loader) {
+        String key = name + "|" + version;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            counter("barangay.coalescer.waiters", name).increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        counter("barangay.coalescer.loads", name).increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Counter counter(String metric, String name) {
+        // Micrometer hands back the already registered meter on repeat calls
+        return Counter.builder(metric).tag("name", name).register(meterRegistry);
+    }
+}
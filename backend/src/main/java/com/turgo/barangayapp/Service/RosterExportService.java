@@ -0,0 +1,131 @@
+package com.turgo.barangayapp.Service;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// Streams participant rosters as CSV straight from a forward-only JDBC cursor.
+// Rows are written as they are fetched (fetch-size at a time), so memory stays flat
+// regardless of roster size. MySQL only honours the fetch size with useCursorFetch, which also
+// makes every statement a server-side prepared one, so the export runs on its own small pool
+// (app.roster-export.max-connections) instead of switching it on for the whole application.
+@Service
+public class RosterExportService {
+
+    public static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final String HEADER = "User ID,Full Name,Email,Phone Number,Address\n";
+
+    private static final String PROGRAM_ROSTER_SQL =
+            "SELECT u.id, u.full_name, u.email, u.phone_number, u.address FROM program_participants pp " +
+            "JOIN users u ON u.id = pp.user_id WHERE pp.program_id = ? ORDER BY u.full_name, u.id";
+
+    private static final String SERVICE_ROSTER_SQL =
+            "SELECT u.id, u.full_name, u.email, u.phone_number, u.address FROM service_participants sp " +
+            "JOIN users u ON u.id = sp.user_id WHERE sp.service_id = ? ORDER BY u.full_name, u.id";
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${app.roster-export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${app.roster-export.max-connections:2}")
+    private int maxConnections;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    // Connections are opened on first export, not at startup
+    @PostConstruct
+    public void init() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("roster-export");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxConnections);
+        config.setMinimumIdle(0);
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        config.addDataSourceProperty("useCursorFetch", "true");
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dataSource.close();
+    }
+
+    public void writeProgramRoster(Long programId, OutputStream out) throws IOException {
+        write(PROGRAM_ROSTER_SQL, programId, out);
+    }
+
+    public void writeServiceRoster(Long serviceId, OutputStream out) throws IOException {
+        write(SERVICE_ROSTER_SQL, serviceId, out);
+    }
+
+    private void write(String sql, Long ownerId, OutputStream stream) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        out.write(HEADER);
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, ownerId);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    out.write(rs.getString(1));
+                    for (int column = 2; column <= 5; column++) {
+                        out.write(',');
+                        out.write(csv(rs.getString(column)));
+                    }
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // Client went away; stop reading
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    // RFC 4180 quoting, plus a leading quote on values a spreadsheet would run as a formula
+    private static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
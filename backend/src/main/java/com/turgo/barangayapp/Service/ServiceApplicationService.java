@@ -0,0 +1,116 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.ApplicationStatus;
+import com.turgo.barangayapp.Model.ServiceApplication;
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Repository.ServiceApplicationRepository;
+import com.turgo.barangayapp.dtos.BulkStatusResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Service application writes. Each one commits together with its outbox notification.
+@Service
+public class ServiceApplicationService {
+
+    @Autowired
+    private ServiceApplicationRepository serviceApplicationRepository;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    // --- SUBMIT ---
+    public ServiceApplication submit(User user, String serviceType, String additionalInfo) {
+        return transactionTemplate.execute(status -> {
+            ServiceApplication application = new ServiceApplication();
+            application.setServiceType(serviceType);
+            application.setAdditionalInfo(additionalInfo);
+            application.setUser(user);
+            application.setStatus(ApplicationStatus.PENDING);
+            application.setNotificationSent(false); // Set by OutboxDispatcher once delivered
+
+            ServiceApplication saved = serviceApplicationRepository.save(application);
+            notificationOutboxService.applicationSubmitted(saved);
+            dashboardCounterService.applications(ApplicationStatus.PENDING, serviceType, 1);
+            return saved;
+        });
+    }
+
+    // --- STATUS ---
+    // The conditional UPDATE decides: if another admin moved the application first, nothing is
+    // announced or counted and the caller is told to reload.
+    public String updateStatus(Long applicationId, ApplicationStatus newStatus) {
+        return transactionTemplate.execute(status -> {
+            Optional<ServiceApplication> appOpt = serviceApplicationRepository.findById(applicationId);
+            if (appOpt.isEmpty()) {
+                return "Application not found";
+            }
+
+            ServiceApplication application = appOpt.get();
+            if (application.getStatus() == newStatus) {
+                return "SUCCESS"; // Nothing changed, nothing to announce
+            }
+            ApplicationStatus previous = application.getStatus();
+            if (serviceApplicationRepository.transitionOne(applicationId, previous, newStatus) == 0) {
+                return "Application status changed meanwhile";
+            }
+            application.setStatus(newStatus); // Keep the managed entity in step with the row
+            notificationOutboxService.applicationStatusChanged(application, newStatus);
+            dashboardCounterService.applications(previous, application.getServiceType(), -1);
+            dashboardCounterService.applications(newStatus, application.getServiceType(), 1);
+            return "SUCCESS";
+        });
+    }
+
+    // Moves every eligible application to newStatus in one UPDATE and queues one notification each.
+    // Rows are locked first so the per-id results match what was actually written.
+    public List<BulkStatusResult> bulkUpdateStatus(List<Long> applicationIds, ApplicationStatus newStatus) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, ServiceApplication> found = serviceApplicationRepository.lockAllWithUser(applicationIds).stream()
+                    .collect(Collectors.toMap(ServiceApplication::getId, Function.identity()));
+
+            // Only PENDING has outgoing transitions today, but group by source state so the guard stays exact
+            Map<ApplicationStatus, List<ServiceApplication>> eligible = new LinkedHashMap<>();
+            List<BulkStatusResult> results = new ArrayList<>();
+            for (Long id : applicationIds) {
+                ServiceApplication application = found.get(id);
+                if (application == null) {
+                    results.add(new BulkStatusResult(id, "NOT_FOUND", null));
+                } else if (!application.getStatus().canTransitionTo(newStatus)) {
+                    results.add(new BulkStatusResult(id, "INVALID_TRANSITION", application.getStatus().name()));
+                } else {
+                    eligible.computeIfAbsent(application.getStatus(), key -> new ArrayList<>()).add(application);
+                    results.add(new BulkStatusResult(id, "UPDATED", application.getStatus().name()));
+                }
+            }
+
+            for (Map.Entry<ApplicationStatus, List<ServiceApplication>> group : eligible.entrySet()) {
+                List<Long> ids = group.getValue().stream().map(ServiceApplication::getId).toList();
+                serviceApplicationRepository.transition(ids, group.getKey(), newStatus);
+                notificationOutboxService.applicationsStatusChanged(group.getValue(), newStatus);
+
+                Map<String, Long> perType = group.getValue().stream()
+                        .collect(Collectors.groupingBy(ServiceApplication::getServiceType, Collectors.counting()));
+                perType.forEach((type, count) -> {
+                    dashboardCounterService.applications(group.getKey(), type, -count);
+                    dashboardCounterService.applications(newStatus, type, count);
+                });
+            }
+            return results;
+        });
+    }
+}
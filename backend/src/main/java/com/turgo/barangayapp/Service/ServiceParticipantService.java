@@ -0,0 +1,153 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Repository.MembershipCheck;
+import com.turgo.barangayapp.Repository.ServiceRepository;
+import com.turgo.barangayapp.dtos.BulkParticipantResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Service membership writes. Each one takes the service row lock before touching
+// service_participants, so a bulk change sees memberships that cannot go stale under it.
+@Service
+public class ServiceParticipantService {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserServices userServices;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // --- SINGLE ---
+    // Returns a String message if error, or "SUCCESS" if okay
+    public String joinService(Long serviceId, Long userId) {
+        Boolean joined;
+        try {
+            // The join table's primary key still settles a duplicate join; the insert rolls back
+            joined = transactionTemplate.execute(status -> {
+                if (serviceRepository.lockForMembership(serviceId) == null) {
+                    return false;
+                }
+                serviceRepository.insertParticipant(serviceId, userId);
+                return true;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (serviceRepository.isParticipant(serviceId, userId)) {
+                return "Already joined this service";
+            }
+            return "Service not found or inactive";
+        }
+        if (!Boolean.TRUE.equals(joined)) {
+            return "Service not found or inactive";
+        }
+        contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        return "SUCCESS";
+    }
+
+    public String leaveService(Long serviceId, Long userId) {
+        if (!deleteParticipant(serviceId, userId)) {
+            return serviceRepository.existsById(serviceId) ? "Not a participant of this service" : "Service not found";
+        }
+        contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        return "SUCCESS";
+    }
+
+    // Removing someone who was not in is not an error, only a missing service or user is
+    public String removeParticipant(Long serviceId, Long userId) {
+        if (!deleteParticipant(serviceId, userId)
+                && (!serviceRepository.existsById(serviceId) || userServices.findById(userId).isEmpty())) {
+            return "Service or user not found";
+        }
+        contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        return "SUCCESS";
+    }
+
+    private boolean deleteParticipant(Long serviceId, Long userId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                serviceRepository.lockForMembership(serviceId) != null
+                        && serviceRepository.deleteParticipant(serviceId, userId) > 0));
+    }
+
+    // --- BULK (admin) ---
+    // One query validates every id under the lock, then one INSERT adds every non-member.
+    // Throws IllegalArgumentException if the service is gone.
+    public List<BulkParticipantResult> addParticipants(Long serviceId, List<Long> userIds) {
+        List<Long> ids = userIds.stream().distinct().toList();
+        Map<Long, String> statuses = transactionTemplate.execute(status -> {
+            Map<Long, Long> memberships = lockAndCheckMemberships(serviceId, ids);
+            List<Long> toAdd = ids.stream().filter(id -> Long.valueOf(0).equals(memberships.get(id))).toList();
+
+            Set<Long> added = new HashSet<>(toAdd);
+            if (!toAdd.isEmpty() && serviceRepository.insertParticipants(serviceId, toAdd) < toAdd.size()) {
+                // Users deleted since the check were not inserted
+                Map<Long, Long> after = checkMemberships(serviceId, toAdd);
+                added.removeIf(id -> after.getOrDefault(id, 0L) == 0);
+            }
+
+            Map<Long, String> result = new HashMap<>();
+            for (Long id : ids) {
+                result.put(id, added.contains(id) ? "ADDED"
+                        : memberships.getOrDefault(id, 0L) > 0 ? "ALREADY_PARTICIPANT" : "USER_NOT_FOUND");
+            }
+            return result;
+        });
+
+        if (statuses.containsValue("ADDED")) {
+            contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        }
+        return ids.stream().map(id -> new BulkParticipantResult(id, statuses.get(id))).toList();
+    }
+
+    // One DELETE for all members among the ids, under the same lock
+    public List<BulkParticipantResult> removeParticipants(Long serviceId, List<Long> userIds) {
+        List<Long> ids = userIds.stream().distinct().toList();
+        Map<Long, String> statuses = transactionTemplate.execute(status -> {
+            Map<Long, Long> memberships = lockAndCheckMemberships(serviceId, ids);
+            List<Long> toRemove = ids.stream().filter(id -> memberships.getOrDefault(id, 0L) > 0).toList();
+            if (!toRemove.isEmpty()) {
+                serviceRepository.deleteParticipants(serviceId, toRemove);
+            }
+
+            Map<Long, String> result = new HashMap<>();
+            for (Long id : ids) {
+                result.put(id, !memberships.containsKey(id) ? "USER_NOT_FOUND"
+                        : memberships.get(id) > 0 ? "REMOVED" : "NOT_PARTICIPANT");
+            }
+            return result;
+        });
+
+        if (statuses.containsValue("REMOVED")) {
+            contentVersionService.bump(ContentVersionService.Content.SERVICES);
+        }
+        return ids.stream().map(id -> new BulkParticipantResult(id, statuses.get(id))).toList();
+    }
+
+    // Must run inside a transaction
+    private Map<Long, Long> lockAndCheckMemberships(Long serviceId, List<Long> userIds) {
+        if (serviceRepository.lockForMembership(serviceId) == null) {
+            throw new IllegalArgumentException("Service not found");
+        }
+        return checkMemberships(serviceId, userIds);
+    }
+
+    private Map<Long, Long> checkMemberships(Long serviceId, List<Long> userIds) {
+        Map<Long, Long> memberships = new HashMap<>();
+        for (MembershipCheck check : serviceRepository.checkMemberships(serviceId, userIds)) {
+            memberships.put(check.getId(), check.getMemberships());
+        }
+        return memberships;
+    }
+}
@@ -0,0 +1,159 @@
+package com.turgo.barangayapp.Service;
+
+import com.turgo.barangayapp.Model.Announcement;
+import com.turgo.barangayapp.Model.Event;
+import com.turgo.barangayapp.Model.Program;
+import com.turgo.barangayapp.Repository.AnnouncementRepository;
+import com.turgo.barangayapp.Repository.EventRepository;
+import com.turgo.barangayapp.Repository.ProgramRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory, date-ordered copy of everything that is still upcoming.
+// "Upcoming from now" is a tail view of a skip list, so the public lists never touch the DB.
+// Loaded once at startup, kept current by the service write paths, and pruned as dates pass.
+@Service
+public class UpcomingContentIndex {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    // Events and announcements are keyed by eventDate, programs by endDate (they stay listed until they end)
+    private final TimeIndex<Event> events = new TimeIndex<>();
+    private final TimeIndex<Announcement> announcements = new TimeIndex<>();
+    private final TimeIndex<Program> programs = new TimeIndex<>();
+
+    private static final Comparator<Program> BY_START_DATE =
+            Comparator.comparing(Program::getStartDate).thenComparing(Program::getId);
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        eventRepository.findByEventDateAfterOrderByEventDateAsc(now).forEach(this::putEvent);
+        announcementRepository.findByEventDateAfterOrderByEventDateAsc(now).forEach(this::putAnnouncement);
+        programRepository.findByEndDateAfterOrderByStartDateAsc(now).forEach(this::putProgram);
+    }
+
+    // --- READ ---
+    public List<Event> upcomingEvents(LocalDateTime now) {
+        return events.after(now);
+    }
+
+    public List<Event> eventsBetween(LocalDateTime from, LocalDateTime to) {
+        return events.between(from, to);
+    }
+
+    public List<Announcement> upcomingAnnouncements(LocalDateTime now) {
+        return announcements.after(now);
+    }
+
+    public List<Program> activePrograms(LocalDateTime now) {
+        List<Program> active = programs.after(now);
+        active.sort(BY_START_DATE);
+        return active;
+    }
+
+    // --- WRITE ---
+    public void putEvent(Event event) {
+        events.put(event.getId(), event.getEventDate(), event);
+    }
+
+    public void removeEvent(Long id) {
+        events.remove(id);
+    }
+
+    public void putAnnouncement(Announcement announcement) {
+        announcements.put(announcement.getId(), announcement.getEventDate(), announcement);
+    }
+
+    public void removeAnnouncement(Long id) {
+        announcements.remove(id);
+    }
+
+    public void putProgram(Program program) {
+        programs.put(program.getId(), program.getEndDate(), program);
+    }
+
+    public void removeProgram(Long id) {
+        programs.remove(id);
+    }
+
+    // Reads already skip past entries; this just keeps the maps from growing forever
+    @Scheduled(fixedDelayString = "${app.upcoming-index.retire-interval-ms:60000}")
+    public void retirePastEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        events.retire(now);
+        announcements.retire(now);
+        programs.retire(now);
+    }
+
+    private record Key(LocalDateTime date, long id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    // Skip list ordered by (date, id) plus an id -> key map so updates can move an entry.
+    // Writers synchronize on the index; readers never lock.
+    private static final class TimeIndex<T> {
+        private final ConcurrentSkipListMap<Key, T> byDate = new ConcurrentSkipListMap<>();
+        private final Map<Long, Key> keysById = new ConcurrentHashMap<>();
+
+        synchronized void put(Long id, LocalDateTime date, T item) {
+            remove(id);
+            if (date == null) {
+                return; // Undated items never show up as upcoming
+            }
+            Key key = new Key(date, id);
+            byDate.put(key, item);
+            keysById.put(id, key);
+        }
+
+        synchronized void remove(Long id) {
+            Key key = keysById.remove(id);
+            if (key != null) {
+                byDate.remove(key);
+            }
+        }
+
+        // Strictly after "now", same as the findBy...After queries
+        List<T> after(LocalDateTime now) {
+            return new ArrayList<>(byDate.tailMap(new Key(now, Long.MAX_VALUE)).values());
+        }
+
+        // [from, to)
+        List<T> between(LocalDateTime from, LocalDateTime to) {
+            if (!from.isBefore(to)) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(byDate.subMap(new Key(from, Long.MIN_VALUE), new Key(to, Long.MIN_VALUE)).values());
+        }
+
+        synchronized void retire(LocalDateTime now) {
+            Map.Entry<Key, T> first;
+            while ((first = byDate.firstEntry()) != null && !first.getKey().date().isAfter(now)) {
+                byDate.remove(first.getKey());
+                keysById.remove(first.getKey().id(), first.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.turgo.barangayapp.dtos;
+
+import com.turgo.barangayapp.Model.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+// Row of the admin application queue: the application plus just enough about the applicant
+public record ApplicationQueueItem(Long id, String serviceType, ApplicationStatus status, LocalDateTime submittedAt,
+                                   String additionalInfo, Long applicantId, String applicantName, String applicantEmail) {
+}
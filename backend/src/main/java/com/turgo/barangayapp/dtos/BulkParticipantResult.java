@@ -0,0 +1,5 @@
+package com.turgo.barangayapp.dtos;
+
+// Per-user outcome of a bulk add/remove: ADDED, REMOVED, ALREADY_PARTICIPANT, NOT_PARTICIPANT or USER_NOT_FOUND
+public record BulkParticipantResult(Long userId, String status) {
+}
@@ -0,0 +1,28 @@
+package com.turgo.barangayapp.dtos;
+
+import java.util.List;
+
+public class BulkStatusRequest {
+    private List<Long> applicationIds;
+
+    private String status;
+
+    public BulkStatusRequest() {
+    }
+
+    public List<Long> getApplicationIds() {
+        return applicationIds;
+    }
+
+    public void setApplicationIds(List<Long> applicationIds) {
+        this.applicationIds = applicationIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
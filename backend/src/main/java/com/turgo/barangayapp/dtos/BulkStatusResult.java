@@ -0,0 +1,6 @@
+package com.turgo.barangayapp.dtos;
+
+// Per-application outcome of a bulk status change: UPDATED, NOT_FOUND or INVALID_TRANSITION
+// (previousStatus is null when the application does not exist)
+public record BulkStatusResult(Long applicationId, String result, String previousStatus) {
+}
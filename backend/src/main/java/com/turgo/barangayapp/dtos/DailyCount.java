@@ -0,0 +1,6 @@
+package com.turgo.barangayapp.dtos;
+
+import java.time.LocalDate;
+
+public record DailyCount(LocalDate day, long count) {
+}
@@ -0,0 +1,15 @@
+package com.turgo.barangayapp.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record DashboardSummary(
+        Map<String, Long> applicationsByStatus,
+        Map<String, Long> applicationsByType,
+        long unreadFeedback,
+        List<ProgramParticipation> programs,
+        List<DailyCount> likesPerDay,
+        List<DailyCount> commentsPerDay,
+        LocalDateTime lastReconciledAt) {
+}
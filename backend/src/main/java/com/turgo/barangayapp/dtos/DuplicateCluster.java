@@ -0,0 +1,7 @@
+package com.turgo.barangayapp.dtos;
+
+import java.util.List;
+
+// A group of near-identical feedback. representative is the oldest message; feedbackIds is capped.
+public record DuplicateCluster(FeedbackInboxItem representative, int size, int distinctUsers, List<Long> feedbackIds) {
+}
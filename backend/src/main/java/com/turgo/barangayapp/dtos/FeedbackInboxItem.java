@@ -0,0 +1,19 @@
+package com.turgo.barangayapp.dtos;
+
+import java.time.LocalDateTime;
+
+// Admin inbox row: the feedback plus just enough of the sender to display it.
+// similarCount is how many other feedback messages are near-duplicates of this one.
+public record FeedbackInboxItem(Long id, String message, LocalDateTime submittedAt, boolean read, String adminReply,
+                                LocalDateTime repliedAt, Long userId, String userName, String userEmail, int similarCount) {
+
+    // JPQL constructor expression; similarCount is filled in from FeedbackDuplicateIndex afterwards
+    public FeedbackInboxItem(Long id, String message, LocalDateTime submittedAt, boolean read, String adminReply,
+                             LocalDateTime repliedAt, Long userId, String userName, String userEmail) {
+        this(id, message, submittedAt, read, adminReply, repliedAt, userId, userName, userEmail, 0);
+    }
+
+    public FeedbackInboxItem withSimilarCount(int similarCount) {
+        return new FeedbackInboxItem(id, message, submittedAt, read, adminReply, repliedAt, userId, userName, userEmail, similarCount);
+    }
+}
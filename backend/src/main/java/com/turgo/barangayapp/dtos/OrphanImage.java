@@ -0,0 +1,9 @@
+package com.turgo.barangayapp.dtos;
+
+import java.time.LocalDateTime;
+
+// A stored image no content row points at. queuedAt is null until the collector has queued it;
+// deletableAt is when a non-dry-run collector may remove it.
+public record OrphanImage(String imageUrl, String imageSrcset, long sizeBytes, LocalDateTime storedAt,
+                          LocalDateTime lastUsedAt, LocalDateTime queuedAt, LocalDateTime deletableAt) {
+}
@@ -0,0 +1,8 @@
+package com.turgo.barangayapp.dtos;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+// A listed program/service plus its participant count, serialized flat as the entity's fields
+// and "participantCount". The entity itself is shared (index, coalescer) and never mutated.
+public record ParticipantCounted<T>(@JsonUnwrapped T item, long participantCount) {
+}
@@ -0,0 +1,5 @@
+package com.turgo.barangayapp.dtos;
+
+// Slim roster row for admins - no password hashes or security answers, no nested entities
+public record ParticipantSummary(Long id, String fullName, String email, String phoneNumber) {
+}
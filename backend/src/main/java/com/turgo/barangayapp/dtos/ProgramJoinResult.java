@@ -0,0 +1,16 @@
+package com.turgo.barangayapp.dtos;
+
+import java.util.List;
+
+// Outcome of a join: "SUCCESS" or an error message, plus the user's other programs whose dates
+// overlap the joined one (a warning, not a block; empty unless the join succeeded)
+public record ProgramJoinResult(String status, List<ScheduleConflict> conflicts) {
+
+    public static ProgramJoinResult error(String message) {
+        return new ProgramJoinResult(message, List.of());
+    }
+
+    public boolean isSuccess() {
+        return "SUCCESS".equals(status);
+    }
+}
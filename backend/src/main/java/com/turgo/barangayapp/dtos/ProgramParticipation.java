@@ -0,0 +1,6 @@
+package com.turgo.barangayapp.dtos;
+
+import java.time.LocalDateTime;
+
+public record ProgramParticipation(Long programId, String name, LocalDateTime startDate, long participants, Integer capacity) {
+}
@@ -0,0 +1,7 @@
+package com.turgo.barangayapp.dtos;
+
+import java.time.LocalDateTime;
+
+// A joined program whose dates overlap the one being joined
+public record ScheduleConflict(Long programId, String name, LocalDateTime startDate, LocalDateTime endDate) {
+}
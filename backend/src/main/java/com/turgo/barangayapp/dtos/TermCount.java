@@ -0,0 +1,5 @@
+package com.turgo.barangayapp.dtos;
+
+// A keyword and how many feedback messages in the window mention it
+public record TermCount(String term, long count) {
+}
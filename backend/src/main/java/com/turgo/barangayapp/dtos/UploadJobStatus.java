@@ -0,0 +1,5 @@
+package com.turgo.barangayapp.dtos;
+
+// Poll result for an async image upload. imageUrl/imageSrcset are set once SUCCEEDED, error once FAILED.
+public record UploadJobStatus(String jobId, String status, int progress, String imageUrl, String imageSrcset, String error) {
+}
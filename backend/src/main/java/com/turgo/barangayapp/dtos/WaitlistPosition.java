@@ -0,0 +1,5 @@
+package com.turgo.barangayapp.dtos;
+
+// Where the current user stands in a program's waitlist (position is 1-based)
+public record WaitlistPosition(Long programId, int position, int waitlistSize) {
+}
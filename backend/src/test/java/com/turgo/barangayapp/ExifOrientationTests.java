@@ -0,0 +1,129 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Service.ExifOrientation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// Reads the orientation tag from hand-built JPEG headers (both byte orders, every value, broken
+// segments) and checks that apply() puts each pixel where a browser would display it.
+class ExifOrientationTests {
+
+    @TempDir
+    Path dir;
+
+    // --- READ ---
+    @Test
+    void readsEveryOrientationInBothByteOrders() throws Exception {
+        for (int orientation = 1; orientation <= 8; orientation++) {
+            assertEquals(orientation, ExifOrientation.read(jpeg(exif(ByteOrder.LITTLE_ENDIAN, orientation))), "II " + orientation);
+            assertEquals(orientation, ExifOrientation.read(jpeg(exif(ByteOrder.BIG_ENDIAN, orientation))), "MM " + orientation);
+        }
+    }
+
+    @Test
+    void outOfRangeValueMeansAsStored() throws Exception {
+        assertEquals(1, ExifOrientation.read(jpeg(exif(ByteOrder.BIG_ENDIAN, 9))));
+        assertEquals(1, ExifOrientation.read(jpeg(exif(ByteOrder.BIG_ENDIAN, 0))));
+    }
+
+    @Test
+    void truncatedExifSegmentMeansAsStored() throws Exception {
+        byte[] full = exif(ByteOrder.LITTLE_ENDIAN, 6);
+
+        // The IFD entry is cut off, but the segment itself is well-formed
+        assertEquals(1, ExifOrientation.read(jpeg(Arrays.copyOf(full, 20))));
+
+        // The file ends in the middle of the segment
+        byte[] file = Files.readAllBytes(jpeg(full));
+        Path cut = Files.write(dir.resolve("cut.jpg"), Arrays.copyOf(file, 20));
+        assertEquals(1, ExifOrientation.read(cut));
+    }
+
+    @Test
+    void missingOrForeignMetadataMeansAsStored() throws Exception {
+        assertEquals(1, ExifOrientation.read(jpeg("XMP-ish payload".getBytes())));
+        assertEquals(1, ExifOrientation.read(Files.write(dir.resolve("not.jpg"), new byte[]{(byte) 0x89, 'P', 'N', 'G'})));
+        assertEquals(1, ExifOrientation.read(dir.resolve("missing.jpg")));
+    }
+
+    // --- APPLY ---
+    // Expected source pixel for each displayed pixel (x, y) of a w x h image
+    @Test
+    void applyMovesEveryPixelWhereItIsDisplayed() {
+        int w = 3;
+        int h = 2;
+        BufferedImage source = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                source.setRGB(x, y, color(x, y));
+            }
+        }
+
+        assertSame(source, ExifOrientation.apply(source, 1));
+        for (int orientation = 2; orientation <= 8; orientation++) {
+            BufferedImage shown = ExifOrientation.apply(source, orientation);
+            boolean swapped = orientation >= 5;
+            assertEquals(swapped ? h : w, shown.getWidth(), "width for " + orientation);
+            assertEquals(swapped ? w : h, shown.getHeight(), "height for " + orientation);
+
+            for (int y = 0; y < shown.getHeight(); y++) {
+                for (int x = 0; x < shown.getWidth(); x++) {
+                    int[] from = switch (orientation) {
+                        case 2 -> new int[]{w - 1 - x, y};
+                        case 3 -> new int[]{w - 1 - x, h - 1 - y};
+                        case 4 -> new int[]{x, h - 1 - y};
+                        case 5 -> new int[]{y, x};
+                        case 6 -> new int[]{y, h - 1 - x};
+                        case 7 -> new int[]{w - 1 - y, h - 1 - x};
+                        default -> new int[]{w - 1 - y, x};
+                    };
+                    assertEquals(color(from[0], from[1]), shown.getRGB(x, y) & 0xFFFFFF,
+                            "orientation " + orientation + " at " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    private static int color(int x, int y) {
+        return (x + 1) * 0x400000 | (y + 1) * 0x004000;
+    }
+
+    // APP1 payload: "Exif\0\0", TIFF header, IFD0 holding only the orientation tag
+    static byte[] exif(ByteOrder order, int orientation) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4).order(order);
+        buffer.put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[]{'I', 'I'} : new byte[]{'M', 'M'});
+        buffer.putShort((short) 42);
+        buffer.putInt(8); // IFD0 right after the header
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0x0112);
+        buffer.putShort((short) 3); // SHORT
+        buffer.putInt(1);
+        buffer.putShort((short) orientation);
+        buffer.putShort((short) 0);
+        buffer.putInt(0); // No next IFD
+        return buffer.array();
+    }
+
+    // SOI, one APP1 segment, then start of scan
+    private Path jpeg(byte[] app1) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1});
+        out.write((app1.length + 2) >> 8);
+        out.write(app1.length + 2);
+        out.write(app1);
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 8});
+        return Files.write(Files.createTempFile(dir, "exif-", ".jpg"), out.toByteArray());
+    }
+}
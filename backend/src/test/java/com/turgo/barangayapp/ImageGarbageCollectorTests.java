@@ -0,0 +1,277 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Model.ImageOwner;
+import com.turgo.barangayapp.Service.ImageGarbageCollector;
+import com.turgo.barangayapp.Service.ImageReferenceService;
+import com.turgo.barangayapp.Service.ImageStorage;
+import com.turgo.barangayapp.Service.ImageUploadService;
+import com.turgo.barangayapp.Service.ImageUploadService.StagedUpload;
+import com.turgo.barangayapp.Service.ImageUploadService.UploadedImage;
+import com.turgo.barangayapp.Service.LocalImageStorage;
+import com.turgo.barangayapp.dtos.OrphanImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Uploads real images into local storage and walks them through the removal queue: what queues a
+// URL, what takes it off again, what keeps a queued image alive, and what a collection deletes.
+// Runs are triggered by hand; the collector's own schedule and the reconciler are pushed out of the way.
+@SpringBootTest(properties = {
+        "app.images.storage=local",
+        "app.images.local-dir=${java.io.tmpdir}/barangay-images-gc-test",
+        "app.images.public-base-url=",
+        "app.images.gc.enabled=true",
+        "app.images.gc.dry-run=false",
+        "app.images.gc.min-age-ms=3600000",
+        "app.images.gc.batch-size=100",
+        "app.images.gc.delete-interval-ms=0",
+        "app.images.gc.interval-ms=86400000",
+        "app.images.gc.reconcile-interval-ms=86400000"
+})
+class ImageGarbageCollectorTests {
+
+    private static final String BASE_URL = "http://gc-test.local";
+
+    @Autowired
+    private ImageGarbageCollector imageGarbageCollector;
+
+    @Autowired
+    private ImageReferenceService imageReferenceService;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private LocalImageStorage localImageStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UploadedImage> uploads = new ArrayList<>();
+    private final List<Long> owners = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(imageGarbageCollector, "dryRun", false);
+        for (Long owner : owners) {
+            for (ImageOwner type : ImageOwner.values()) {
+                jdbcTemplate.update("DELETE FROM image_references WHERE owner_type = ? AND owner_id = ?", type.name(), owner);
+            }
+        }
+        for (UploadedImage upload : uploads) {
+            jdbcTemplate.update("DELETE FROM image_removals WHERE image_url = ?", key(upload));
+            jdbcTemplate.update("DELETE FROM stored_images WHERE image_url = ?", key(upload));
+            for (String url : files(upload)) {
+                localImageStorage.deleteImage(url);
+            }
+        }
+    }
+
+    // --- QUEUE ---
+    @Test
+    void replacingOrDroppingAnImageQueuesIt() throws Exception {
+        UploadedImage first = upload();
+        UploadedImage second = upload();
+        long owner = owner();
+
+        imageReferenceService.track(ImageOwner.EVENT, owner, first.imageUrl());
+        assertFalse(queued(first));
+
+        imageReferenceService.track(ImageOwner.EVENT, owner, second.imageUrl());
+        assertTrue(queued(first));
+        assertFalse(queued(second));
+
+        imageReferenceService.untrack(ImageOwner.EVENT, owner);
+        assertTrue(queued(second));
+    }
+
+    @Test
+    void imageStillUsedElsewhereIsNotQueued() throws Exception {
+        UploadedImage image = upload();
+        long event = owner();
+        long announcement = owner();
+
+        imageReferenceService.track(ImageOwner.EVENT, event, image.imageUrl());
+        imageReferenceService.track(ImageOwner.ANNOUNCEMENT, announcement, image.imageUrl());
+        imageReferenceService.untrack(ImageOwner.EVENT, event);
+
+        assertFalse(queued(image));
+    }
+
+    // Saved through another host: still the same stored image
+    @Test
+    void referencingAgainTakesItOffTheQueue() throws Exception {
+        UploadedImage image = upload();
+        long event = owner();
+        imageReferenceService.track(ImageOwner.EVENT, event, image.imageUrl());
+        imageReferenceService.untrack(ImageOwner.EVENT, event);
+        assertTrue(queued(image));
+
+        imageReferenceService.track(ImageOwner.PROGRAM, owner(), "https://other-host.example" + key(image));
+
+        assertFalse(queued(image));
+        imageGarbageCollector.collect();
+        assertTrue(onDisk(image.imageUrl()));
+    }
+
+    // --- PROTECTION ---
+    @Test
+    void recentQueueEntryOrRecentUseKeepsTheImage() throws Exception {
+        UploadedImage image = upload();
+        long event = owner();
+        imageReferenceService.track(ImageOwner.EVENT, event, image.imageUrl());
+        imageReferenceService.untrack(ImageOwner.EVENT, event);
+        LocalDateTime old = LocalDateTime.now().minusHours(2);
+
+        // Queued just now: inside min-age
+        setLastUse(image, old, null);
+        imageGarbageCollector.collect();
+        assertTrue(stored(image));
+        assertTrue(queued(image));
+
+        // Queued long ago, but a duplicate upload was answered with it a minute ago
+        queueAt(image, old);
+        setLastUse(image, old, LocalDateTime.now().minusMinutes(1));
+        imageGarbageCollector.collect();
+        assertTrue(stored(image));
+        assertTrue(onDisk(image.imageUrl()));
+
+        // Both old: collected
+        queueAt(image, old);
+        setLastUse(image, old, old);
+        imageGarbageCollector.collect();
+        assertFalse(stored(image));
+        assertFalse(onDisk(image.imageUrl()));
+    }
+
+    @Test
+    void dryRunOnlyReports() throws Exception {
+        UploadedImage image = upload();
+        LocalDateTime old = LocalDateTime.now().minusHours(2);
+        queueAt(image, old);
+        setLastUse(image, old, null);
+        ReflectionTestUtils.setField(imageGarbageCollector, "dryRun", true);
+
+        imageGarbageCollector.collect();
+
+        assertTrue(stored(image));
+        assertTrue(queued(image));
+        for (String url : files(image)) {
+            assertTrue(onDisk(url), url);
+        }
+        OrphanImage orphan = imageGarbageCollector.report(1000).stream()
+                .filter(candidate -> candidate.imageUrl().equals(key(image)))
+                .findFirst().orElseThrow();
+        assertNotNull(orphan.deletableAt());
+        assertFalse(orphan.deletableAt().isAfter(LocalDateTime.now()));
+    }
+
+    // --- DELETION ---
+    @Test
+    void renditionsAreDeletedWithTheOriginal() throws Exception {
+        UploadedImage image = upload();
+        assertNotNull(image.imageSrcset());
+        List<String> files = files(image);
+        assertEquals(3, files.size()); // 320w, 640w and the 800px original
+        for (String url : files) {
+            assertTrue(onDisk(url), url);
+        }
+
+        LocalDateTime old = LocalDateTime.now().minusHours(2);
+        queueAt(image, old);
+        setLastUse(image, old, null);
+        imageGarbageCollector.collect();
+
+        assertFalse(stored(image));
+        assertFalse(queued(image));
+        for (String url : files) {
+            assertFalse(onDisk(url), url);
+        }
+    }
+
+    // A fresh 800x400 PNG; random pixels so no other test shares its hash
+    private UploadedImage upload() throws Exception {
+        Random random = new Random();
+        BufferedImage picture = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < 64; i++) {
+            picture.setRGB(random.nextInt(800), random.nextInt(400), random.nextInt(0xFFFFFF));
+        }
+        Path file = Files.createTempFile("gc-test-", ".png");
+        ImageIO.write(picture, "png", file.toFile());
+
+        UploadedImage image = imageUploadService.upload(new StagedUpload(file, "image/png", BASE_URL), percent -> { });
+        uploads.add(image);
+        assertTrue(image.imageUrl().startsWith(BASE_URL));
+        return image;
+    }
+
+    private long owner() {
+        long owner = -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE); // Never a real row
+        owners.add(owner);
+        return owner;
+    }
+
+    private String key(UploadedImage image) {
+        return imageStorage.key(image.imageUrl());
+    }
+
+    // The original plus every srcset entry
+    private static List<String> files(UploadedImage image) {
+        List<String> urls = new ArrayList<>();
+        urls.add(image.imageUrl());
+        if (image.imageSrcset() != null) {
+            for (String candidate : image.imageSrcset().split(",")) {
+                String url = candidate.trim().split("\\s+")[0];
+                if (!urls.contains(url)) {
+                    urls.add(url);
+                }
+            }
+        }
+        return urls;
+    }
+
+    private boolean onDisk(String url) {
+        return localImageStorage.resolve(url.substring(url.lastIndexOf('/') + 1)) != null;
+    }
+
+    private boolean queued(UploadedImage image) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM image_removals WHERE image_url = ?)", Boolean.class, key(image)));
+    }
+
+    private boolean stored(UploadedImage image) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM stored_images WHERE image_url = ?)", Boolean.class, key(image)));
+    }
+
+    private void queueAt(UploadedImage image, LocalDateTime enqueuedAt) {
+        jdbcTemplate.update("INSERT INTO image_removals (image_url, enqueued_at) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE enqueued_at = ?", key(image), enqueuedAt, enqueuedAt);
+    }
+
+    private void setLastUse(UploadedImage image, LocalDateTime createdAt, LocalDateTime lastUsedAt) {
+        jdbcTemplate.update("UPDATE stored_images SET created_at = ?, last_used_at = ? WHERE image_url = ?",
+                createdAt, lastUsedAt, key(image));
+    }
+}
@@ -0,0 +1,227 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Service.ImageRenditionService;
+import com.turgo.barangayapp.Service.ImageRenditionService.Rendition;
+import com.turgo.barangayapp.Service.ImageRenditionService.RenditionSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ImageRenditionService without Spring: which widths get rendered for a given original, EXIF
+// rotation before resizing, decoding large photos subsampled, and the bounded pool turning work
+// away once its queue is full.
+class ImageRenditionServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ImageRenditionService service;
+
+    @AfterEach
+    void shutDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    // --- WIDTHS ---
+    @Test
+    void onlyWidthsNarrowerThanTheOriginalAreRendered() throws Exception {
+        service = service(new int[]{1280, 0, 320, 640, 320, 800}, 1, 1);
+        Path original = image(800, 400, false);
+
+        RenditionSet set = service.render(original, "image/jpeg", dir);
+
+        assertEquals(800, set.sourceWidth());
+        assertEquals(List.of(320, 640), set.renditions().stream().map(Rendition::width).toList());
+        for (Rendition rendition : set.renditions()) {
+            assertEquals("image/jpeg", rendition.contentType());
+            BufferedImage written = ImageIO.read(rendition.file().toFile());
+            assertEquals(rendition.width(), written.getWidth());
+            assertEquals(rendition.width() / 2, written.getHeight());
+        }
+    }
+
+    @Test
+    void originalNarrowerThanEveryWidthGetsNoRenditions() throws Exception {
+        service = service(new int[]{320, 640}, 1, 1);
+
+        RenditionSet set = service.render(image(300, 200, false), "image/jpeg", dir);
+
+        assertEquals(300, set.sourceWidth());
+        assertTrue(set.renditions().isEmpty());
+    }
+
+    @Test
+    void transparencyIsKeptAsPng() throws Exception {
+        service = service(new int[]{320}, 1, 1);
+
+        RenditionSet set = service.render(image(640, 640, true), "image/png", dir);
+
+        assertEquals(1, set.renditions().size());
+        assertEquals("image/png", set.renditions().get(0).contentType());
+        assertTrue(ImageIO.read(set.renditions().get(0).file().toFile()).getColorModel().hasAlpha());
+    }
+
+    // A portrait photo stored sideways (orientation 6) is 400 wide once displayed
+    @Test
+    void exifRotationIsAppliedBeforeChoosingWidths() throws Exception {
+        service = service(new int[]{320, 640}, 1, 1);
+        Path sideways = withExif(image(800, 400, false), 6);
+
+        RenditionSet set = service.render(sideways, "image/jpeg", dir);
+
+        assertEquals(400, set.sourceWidth());
+        assertEquals(List.of(320), set.renditions().stream().map(Rendition::width).toList());
+        assertEquals(640, ImageIO.read(set.renditions().get(0).file().toFile()).getHeight());
+    }
+
+    // Stored 4000x3000 but displayed 3000 wide: decoded at every second pixel, which is still
+    // wider than the widest rendition, while sourceWidth stays the full displayed width
+    @Test
+    void largeRotatedPhotoIsDecodedSubsampledAtItsDisplayedWidth() throws Exception {
+        service = service(new int[]{320, 640, 1280}, 1, 1);
+        Path sideways = withExif(image(4000, 3000, false), 6);
+
+        RenditionSet set = service.render(sideways, "image/jpeg", dir);
+
+        assertEquals(3000, set.sourceWidth());
+        assertEquals(List.of(320, 640, 1280), set.renditions().stream().map(Rendition::width).toList());
+        BufferedImage widest = ImageIO.read(set.renditions().get(2).file().toFile());
+        assertEquals(1280, widest.getWidth());
+        assertEquals(1707, widest.getHeight());
+    }
+
+    @Test
+    void unsupportedOrUndecodableImagesGetNoRenditions() throws Exception {
+        service = service(new int[]{320}, 1, 1);
+        Path garbage = Files.write(dir.resolve("garbage.jpg"), new byte[]{1, 2, 3, 4});
+
+        assertSame(RenditionSet.NONE, service.render(image(800, 400, false), "image/gif", dir));
+        assertSame(RenditionSet.NONE, service.render(image(800, 400, false), null, dir));
+        assertSame(RenditionSet.NONE, service.render(garbage, "image/jpeg", dir));
+    }
+
+    // --- HEAP ---
+    // Rendering 1280px and narrower from a 12MP photo must cost the resize thread well under what
+    // merely decoding every pixel of it costs, which only holds when the decoder skips pixels up front
+    @Test
+    void largePhotoIsRenderedWithoutDecodingEveryPixel() throws Exception {
+        service = service(new int[]{320, 640, 1280}, 1, 1);
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "pool");
+        long resizeThread = pool.submit(() -> Thread.currentThread().getId()).get();
+        Path photo = image(4000, 3000, false);
+
+        service.render(image(2000, 1500, false), "image/jpeg", dir); // Warm up ImageIO on that thread
+        long before = allocatedBytes(resizeThread);
+        RenditionSet set = service.render(photo, "image/jpeg", dir);
+        long allocated = allocatedBytes(resizeThread) - before;
+
+        // Baseline: a plain full decode of the same file on this thread
+        before = allocatedBytes(Thread.currentThread().getId());
+        BufferedImage full = ImageIO.read(photo.toFile());
+        long fullDecode = allocatedBytes(Thread.currentThread().getId()) - before;
+
+        assertEquals(4000, full.getWidth());
+        assertTrue(fullDecode >= 4000L * 3000 * 3);
+        assertEquals(4000, set.sourceWidth());
+        assertEquals(List.of(320, 640, 1280), set.renditions().stream().map(Rendition::width).toList());
+        assertTrue(allocated < fullDecode / 2, "Allocated " + allocated + " bytes, a full decode takes " + fullDecode);
+    }
+
+    // --- BACKPRESSURE ---
+    @Test
+    void fullQueueRejectsInsteadOfWaiting() throws Exception {
+        service = service(new int[]{320}, 1, 1);
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "pool");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            // One job on the only thread, one waiting in the only queue slot
+            pool.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            started.await();
+            pool.submit(() -> null);
+
+            Path original = image(800, 400, false);
+            assertThrows(RejectedExecutionException.class, () -> service.render(original, "image/jpeg", dir));
+            assertEquals(1.0, meterRegistry.counter("barangay.images.resize.rejected").count());
+
+            // Formats that are never resized do not need the pool
+            assertSame(RenditionSet.NONE, service.render(original, "image/webp", dir));
+        } finally {
+            release.countDown();
+        }
+
+        // Room again once the backlog drains
+        for (int attempt = 0; attempt < 100 && pool.getActiveCount() + pool.getQueue().size() > 0; attempt++) {
+            Thread.sleep(20);
+        }
+        assertFalse(service.render(image(800, 400, false), "image/jpeg", dir).renditions().isEmpty());
+    }
+
+    private ImageRenditionService service(int[] widths, int threads, int queue) {
+        ImageRenditionService renditions = new ImageRenditionService(meterRegistry);
+        ReflectionTestUtils.setField(renditions, "renditionWidths", widths);
+        ReflectionTestUtils.setField(renditions, "resizeThreads", threads);
+        ReflectionTestUtils.setField(renditions, "resizeQueue", queue);
+        ReflectionTestUtils.setField(renditions, "resizeTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(renditions, "maxPixels", 50_000_000L);
+        ReflectionTestUtils.setField(renditions, "jpegQuality", 0.82f);
+        renditions.init();
+        return renditions;
+    }
+
+    private Path image(int width, int height, boolean alpha) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, alpha ? 0x80FF0000 : 0xFF0000);
+        }
+        Path file = Files.createTempFile(dir, "original-", alpha ? ".png" : ".jpg");
+        ImageIO.write(image, alpha ? "png" : "jpeg", file.toFile());
+        return file;
+    }
+
+    private static long allocatedBytes(long threadId) {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(threadId);
+    }
+
+    // Splices an APP1 segment with the given orientation in right after SOI
+    private static Path withExif(Path jpeg, int orientation) throws Exception {
+        byte[] bytes = Files.readAllBytes(jpeg);
+        byte[] app1 = ExifOrientationTests.exif(ByteOrder.BIG_ENDIAN, orientation);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes, 0, 2);
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xE1});
+        out.write((app1.length + 2) >> 8);
+        out.write(app1.length + 2);
+        out.write(app1);
+        out.write(Arrays.copyOfRange(bytes, 2, bytes.length));
+        return Files.write(jpeg, out.toByteArray());
+    }
+}
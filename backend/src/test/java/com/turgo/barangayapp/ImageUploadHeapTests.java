@@ -0,0 +1,195 @@
+package com.turgo.barangayapp;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import com.turgo.barangayapp.Model.StoredImage;
+import com.turgo.barangayapp.Repository.StoredImageRepository;
+import com.turgo.barangayapp.Service.ImageUploadService;
+import com.turgo.barangayapp.Service.ImageUploadService.UploadedImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Uploads a 10MB image through ImageUploadService (staging, hashing, storing to Cloudinary) and
+// measures how much the uploading thread allocates. The multipart file is disk-backed like the
+// container's, and the Cloudinary stand-in reads what it is given through an 8KB buffer the way
+// the HTTP client does. The bytes are not a decodable image, so no renditions are made (what
+// decoding a real photo costs is checked in ImageRenditionServiceTests), and stored_images is
+// stubbed out so every upload goes all the way to storage. Staying far below the file size
+// shows the image is never copied into the heap.
+@SpringBootTest
+class ImageUploadHeapTests {
+
+    private static final int FILE_SIZE = 10 * 1024 * 1024;
+    private static final long MAX_ALLOCATION_PER_UPLOAD = 512 * 1024;
+    private static final int UPLOADS = 5;
+
+    @MockitoBean
+    private Cloudinary cloudinary;
+
+    @MockitoBean
+    private StoredImageRepository storedImageRepository;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        source = Files.createTempFile("heap-test-", ".jpg");
+        byte[] block = new byte[64 * 1024];
+        new Random(42).nextBytes(block);
+        try (var out = Files.newOutputStream(source)) {
+            for (int written = 0; written < FILE_SIZE; written += block.length) {
+                out.write(block);
+            }
+        }
+
+        Uploader uploader = mock(Uploader.class);
+        when(cloudinary.uploader()).thenReturn(uploader);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            Object file = invocation.getArgument(0);
+            long read = file instanceof File f ? drain(f) : ((byte[]) file).length;
+            assertEquals(FILE_SIZE, read);
+            return Map.of("secure_url", "https://res.cloudinary.com/test/image/upload/barangay-app/test.jpg");
+        });
+        when(storedImageRepository.findBySha256AndStorage(anyString(), anyString())).thenReturn(Optional.empty());
+        when(storedImageRepository.save(any(StoredImage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Staging records the host the upload came in on
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        Files.deleteIfExists(source);
+    }
+
+    @Test
+    void uploadAllocatesFarLessThanTheFile() throws Exception {
+        imageUploadService.upload(diskBackedCopy()); // Warm up class loading and the mocks
+
+        long total = 0;
+        for (int i = 0; i < UPLOADS; i++) {
+            MultipartFile file = diskBackedCopy();
+            long before = allocatedBytes();
+            UploadedImage image = imageUploadService.upload(file);
+            total += allocatedBytes() - before;
+            assertTrue(image.imageUrl().startsWith("https://"));
+        }
+        long perUpload = total / UPLOADS;
+
+        // Baseline: what the old getBytes() path costs for the same file
+        MultipartFile file = diskBackedCopy();
+        long before = allocatedBytes();
+        byte[] bytes = file.getBytes();
+        long buffered = allocatedBytes() - before;
+        Files.deleteIfExists(((DiskBackedMultipartFile) file).path);
+
+        assertEquals(FILE_SIZE, bytes.length);
+        assertTrue(buffered >= FILE_SIZE);
+        assertTrue(perUpload < MAX_ALLOCATION_PER_UPLOAD, "Allocated " + perUpload + " bytes per upload");
+    }
+
+    private MultipartFile diskBackedCopy() throws IOException {
+        Path copy = Files.createTempFile("heap-test-part-", ".tmp");
+        Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+        return new DiskBackedMultipartFile(copy);
+    }
+
+    private static long drain(File file) throws IOException {
+        byte[] buffer = new byte[8192];
+        long read = 0;
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                read += n;
+            }
+        }
+        return read;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    // Behaves like the container's part: content lives in a temp file and transferTo moves it
+    private static final class DiskBackedMultipartFile implements MultipartFile {
+        private final Path path;
+
+        DiskBackedMultipartFile(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "photo.jpg";
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(path, dest.toPath());
+        }
+    }
+}
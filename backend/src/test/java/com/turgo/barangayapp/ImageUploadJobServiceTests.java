@@ -0,0 +1,209 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Service.ImageUploadJobService;
+import com.turgo.barangayapp.Service.ImageUploadService;
+import com.turgo.barangayapp.Service.ImageUploadService.StagedUpload;
+import com.turgo.barangayapp.Service.ImageUploadService.UploadedImage;
+import com.turgo.barangayapp.dtos.UploadJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// ImageUploadJobService without Spring, on one worker thread: jobs timing out while queued or
+// while running, finished jobs forgotten after their retention, and the job table turning
+// submissions away once it holds max-jobs. The upload itself is a stand-in that blocks until
+// the test releases it.
+class ImageUploadJobServiceTests {
+
+    private static final UploadedImage IMAGE = new UploadedImage("/api/public/images/a.png", null);
+
+    @TempDir
+    Path dir;
+
+    private final ImageUploadService imageUploadService = mock(ImageUploadService.class);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private ImageUploadJobService service;
+
+    @BeforeEach
+    void blockingUpload() throws Exception {
+        when(imageUploadService.upload(any(StagedUpload.class), any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return IMAGE; // Also after an interrupt: a late result must not replace a timeout
+        });
+    }
+
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    // --- TIMEOUTS ---
+    @Test
+    void jobTimingOutWhileQueuedIsFailedAndItsSlotFreed() throws Exception {
+        service = service(1, 1, 60_000, 60_000, 10);
+        UploadJobStatus running = service.submit(staged());
+        started.await();
+
+        // Only this one is already past its deadline
+        ReflectionTestUtils.setField(service, "timeoutMs", 0L);
+        StagedUpload queuedUpload = staged();
+        UploadJobStatus queued = service.submit(queuedUpload);
+        assertEquals("QUEUED", service.status(queued.jobId()).status());
+
+        service.sweep();
+
+        UploadJobStatus timedOut = service.status(queued.jobId());
+        assertEquals("FAILED", timedOut.status());
+        assertEquals("Upload timed out", timedOut.error());
+        assertFalse(Files.exists(queuedUpload.file()));
+        assertEquals(0, pool().getQueue().size());
+        assertEquals("RUNNING", service.status(running.jobId()).status());
+
+        release.countDown();
+        UploadJobStatus done = awaitFinished(running.jobId());
+        assertEquals("SUCCEEDED", done.status());
+        assertEquals(100, done.progress());
+        assertEquals(IMAGE.imageUrl(), done.imageUrl());
+    }
+
+    @Test
+    void jobTimingOutWhileRunningIsInterruptedAndKeepsItsTimeout() throws Exception {
+        service = service(1, 1, 200, 60_000, 10);
+        UploadJobStatus job = service.submit(staged());
+        started.await();
+
+        UploadJobStatus timedOut = service.status(job.jobId());
+        for (int attempt = 0; attempt < 100 && "RUNNING".equals(timedOut.status()); attempt++) {
+            Thread.sleep(20);
+            service.sweep();
+            timedOut = service.status(job.jobId());
+        }
+
+        assertEquals("FAILED", timedOut.status());
+        assertEquals("Upload timed out", timedOut.error());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+        // The worker's late result arrives after the interrupt and is dropped
+        for (int attempt = 0; attempt < 100 && pool().getActiveCount() > 0; attempt++) {
+            Thread.sleep(20);
+        }
+        UploadJobStatus after = service.status(job.jobId());
+        assertEquals("FAILED", after.status());
+        assertEquals("Upload timed out", after.error());
+        assertNull(after.imageUrl());
+    }
+
+    // --- RETENTION ---
+    @Test
+    void finishedJobsAreForgottenAfterRetention() throws Exception {
+        service = service(1, 1, 60_000, 60_000, 10);
+        release.countDown();
+        UploadJobStatus job = service.submit(staged());
+        assertEquals("SUCCEEDED", awaitFinished(job.jobId()).status());
+
+        service.sweep();
+        assertEquals("SUCCEEDED", service.status(job.jobId()).status());
+
+        ReflectionTestUtils.setField(service, "retentionMs", 0L);
+        service.sweep();
+        assertNull(service.status(job.jobId()));
+        assertTrue(jobs().isEmpty());
+    }
+
+    // --- LIMITS ---
+    @Test
+    void fullJobTableRejectsUntilRetentionFreesRoom() throws Exception {
+        service = service(1, 4, 60_000, 60_000, 2);
+        UploadJobStatus first = service.submit(staged());
+        started.await();
+        UploadJobStatus second = service.submit(staged());
+
+        // The pool's queue has room; the table does not
+        StagedUpload rejected = staged();
+        assertThrows(RejectedExecutionException.class, () -> service.submit(rejected));
+        assertFalse(Files.exists(rejected.file()));
+        assertEquals(2, jobs().size());
+        assertEquals(1, pool().getQueue().size());
+
+        release.countDown();
+        awaitFinished(first.jobId());
+        awaitFinished(second.jobId());
+
+        // Finished jobs still count until their retention passes; submit sweeps them itself
+        assertThrows(RejectedExecutionException.class, () -> service.submit(staged()));
+        ReflectionTestUtils.setField(service, "retentionMs", 0L);
+        UploadJobStatus next = service.submit(staged());
+        assertEquals("SUCCEEDED", awaitFinished(next.jobId()).status());
+        assertNull(service.status(first.jobId()));
+    }
+
+    private ImageUploadJobService service(int threads, int queue, long timeoutMs, long retentionMs, int maxJobs) {
+        ImageUploadJobService jobService = new ImageUploadJobService();
+        ReflectionTestUtils.setField(jobService, "imageUploadService", imageUploadService);
+        ReflectionTestUtils.setField(jobService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jobService, "threads", threads);
+        ReflectionTestUtils.setField(jobService, "queueSize", queue);
+        ReflectionTestUtils.setField(jobService, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(jobService, "retentionMs", retentionMs);
+        ReflectionTestUtils.setField(jobService, "maxJobs", maxJobs);
+        jobService.init();
+        return jobService;
+    }
+
+    private StagedUpload staged() throws Exception {
+        return new StagedUpload(Files.createTempFile(dir, "staged-", ".png"), "image/png", "http://localhost");
+    }
+
+    private UploadJobStatus awaitFinished(String jobId) throws InterruptedException {
+        UploadJobStatus status = service.status(jobId);
+        for (int attempt = 0; attempt < 250 && !finished(status); attempt++) {
+            Thread.sleep(20);
+            status = service.status(jobId);
+        }
+        assertTrue(finished(status), "Job " + jobId + " did not finish");
+        return status;
+    }
+
+    private static boolean finished(UploadJobStatus status) {
+        return status != null && ("SUCCEEDED".equals(status.status()) || "FAILED".equals(status.status()));
+    }
+
+    private ThreadPoolExecutor pool() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "pool");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> jobs() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(service, "jobs");
+    }
+}
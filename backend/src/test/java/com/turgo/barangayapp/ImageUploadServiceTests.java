@@ -0,0 +1,140 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Model.StoredImage;
+import com.turgo.barangayapp.Repository.StoredImageRepository;
+import com.turgo.barangayapp.Service.ContentHash;
+import com.turgo.barangayapp.Service.ImageRenditionService;
+import com.turgo.barangayapp.Service.ImageRenditionService.Rendition;
+import com.turgo.barangayapp.Service.ImageRenditionService.RenditionSet;
+import com.turgo.barangayapp.Service.ImageStorage;
+import com.turgo.barangayapp.Service.ImageUploadService;
+import com.turgo.barangayapp.Service.ImageUploadService.StagedUpload;
+import com.turgo.barangayapp.Service.ImageUploadService.UploadedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ImageUploadService without Spring, against a content-addressed storage stand-in: bytes already
+// in stored_images are answered from that row alone, and an upload that loses the race to record
+// the same bytes hands back the winner's row and deletes only the copies the winner does not use.
+class ImageUploadServiceTests {
+
+    private static final String URL_PATH = "/api/public/images/";
+
+    @TempDir
+    Path dir;
+
+    private final ImageStorage imageStorage = mock(ImageStorage.class);
+    private final ImageRenditionService renditionService = mock(ImageRenditionService.class);
+    private final StoredImageRepository storedImageRepository = mock(StoredImageRepository.class);
+    private ImageUploadService service;
+    private byte[] bytes;
+    private String sha256;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ImageUploadService();
+        ReflectionTestUtils.setField(service, "imageStorage", imageStorage);
+        ReflectionTestUtils.setField(service, "renditionService", renditionService);
+        ReflectionTestUtils.setField(service, "storedImageRepository", storedImageRepository);
+        ReflectionTestUtils.setField(service, "stagingDir", dir.toString());
+
+        bytes = new byte[4096];
+        new Random(11).nextBytes(bytes);
+        sha256 = ContentHash.sha256(Files.write(dir.resolve("probe"), bytes));
+
+        // Stored under the name the caller's digest gives, or a fixed one for renditions
+        when(imageStorage.backend()).thenReturn("local");
+        when(imageStorage.store(any(Path.class), anyString(), any())).thenAnswer(invocation -> {
+            String digest = invocation.getArgument(2);
+            Path file = invocation.getArgument(0);
+            return URL_PATH + (digest != null ? digest + ".jpg" : file.getFileName());
+        });
+    }
+
+    // --- DEDUP ---
+    @Test
+    void sameBytesAgainAreAnsweredFromStoredImages() throws Exception {
+        when(renditionService.render(any(), any(), any())).thenReturn(RenditionSet.NONE);
+        when(storedImageRepository.findBySha256AndStorage(sha256, "local")).thenReturn(Optional.empty());
+        when(storedImageRepository.save(any(StoredImage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UploadedImage first = service.upload(staged("http://host-a"), percent -> { });
+
+        assertEquals("http://host-a" + URL_PATH + sha256 + ".jpg", first.imageUrl());
+        verify(imageStorage).store(any(Path.class), eq("image/jpeg"), eq(sha256));
+
+        // The row keeps the root-relative URL; the next host gets its own prefix
+        StoredImage row = new StoredImage(sha256, "local", URL_PATH + sha256 + ".jpg", null, bytes.length);
+        when(storedImageRepository.findBySha256AndStorage(sha256, "local")).thenReturn(Optional.of(row));
+        clearInvocations(imageStorage, renditionService, storedImageRepository);
+
+        StagedUpload again = staged("http://host-b/");
+        UploadedImage second = service.upload(again, percent -> { });
+
+        assertEquals(new UploadedImage("http://host-b" + URL_PATH + sha256 + ".jpg", null), second);
+        verify(storedImageRepository, times(1)).findBySha256AndStorage(sha256, "local");
+        verify(storedImageRepository, never()).touch(any(), any()); // Used within the last hour
+        verify(storedImageRepository, never()).save(any());
+        verify(imageStorage, never()).store(any(), any(), any());
+        verify(renditionService, never()).render(any(), any(), any());
+        assertFalse(Files.exists(again.file()));
+    }
+
+    // --- RACE ---
+    // The winner rendered only 320w of these bytes (the widths changed in between): our 320w file
+    // and the original are the very files it points at, our 640w file is ours alone
+    @Test
+    void lostRaceKeepsTheWinnersFilesAndDeletesTheRest() throws Exception {
+        Path narrow = Files.write(dir.resolve("w320.jpg"), new byte[]{1});
+        Path wide = Files.write(dir.resolve("w640.jpg"), new byte[]{2});
+        when(renditionService.render(any(), any(), any())).thenReturn(new RenditionSet(1280, List.of(
+                new Rendition(320, narrow, "image/jpeg"),
+                new Rendition(640, wide, "image/jpeg"))));
+
+        String original = URL_PATH + sha256 + ".jpg";
+        StoredImage winner = new StoredImage(sha256, "local", original,
+                URL_PATH + "w320.jpg 320w, " + original + " 1280w", bytes.length);
+        when(storedImageRepository.findBySha256AndStorage(sha256, "local"))
+                .thenReturn(Optional.empty(), Optional.of(winner));
+        when(storedImageRepository.save(any(StoredImage.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for uk_stored_images_hash"));
+
+        UploadedImage image = service.upload(staged("http://host-a"), percent -> { });
+
+        assertEquals(new UploadedImage("http://host-a" + original,
+                "http://host-a" + URL_PATH + "w320.jpg 320w, http://host-a" + original + " 1280w"), image);
+        verify(imageStorage, times(3)).store(any(), any(), any());
+        verify(imageStorage, times(1)).deleteImage(any());
+        verify(imageStorage).deleteImage(URL_PATH + "w640.jpg");
+        verify(imageStorage, times(2)).store(any(), eq("image/jpeg"), isNull());
+        assertFalse(Files.exists(narrow));
+        assertFalse(Files.exists(wide));
+    }
+
+    private StagedUpload staged(String baseUrl) throws Exception {
+        Path file = Files.write(Files.createTempFile(dir, "staged-", ".upload"), bytes);
+        return new StagedUpload(file, "image/jpeg", baseUrl);
+    }
+}
@@ -0,0 +1,178 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Service.LocalImageStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Stores a 1000-byte image in LocalImageStorage and fetches it back through LocalImageController:
+// full and partial GETs, conditional requests, and names that must never leave the storage dir.
+// Security filters are off so encoded traversal names reach the controller instead of being
+// rejected by the firewall first.
+@SpringBootTest(properties = {
+        "app.images.storage=local",
+        "app.images.local-dir=${java.io.tmpdir}/barangay-images-test",
+        "app.images.public-base-url="
+})
+@AutoConfigureMockMvc(addFilters = false)
+class LocalImageControllerTests {
+
+    private static final int SIZE = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocalImageStorage localImageStorage;
+
+    private byte[] bytes;
+    private String url;
+    private String name;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bytes = new byte[SIZE];
+        new Random(7).nextBytes(bytes);
+        Path upload = Files.createTempFile("local-image-test-", ".png");
+        Files.write(upload, bytes);
+
+        url = localImageStorage.store(upload, "image/png", null);
+        name = url.substring(url.lastIndexOf('/') + 1);
+        etag = "\"" + name.substring(0, name.indexOf('.')) + "\"";
+    }
+
+    @AfterEach
+    void cleanUp() {
+        localImageStorage.deleteImage(url);
+    }
+
+    // --- FULL ---
+    @Test
+    void fullGetReturnsTheFileWithImmutableCaching() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(bytes));
+    }
+
+    // --- RANGES ---
+    @Test
+    void suffixRangeReturnsTheLastBytes() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 900-999/1000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 900, SIZE)));
+    }
+
+    @Test
+    void suffixLongerThanTheFileReturnsEverything() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-5000"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-999/1000"))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=990-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 990-999/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 990, SIZE)));
+    }
+
+    @Test
+    void closedRangePastTheEndIsClamped() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-5000"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-999/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 10, SIZE)));
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsUnsatisfiable() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-0"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void multipleOrMalformedRangesAreIgnored() throws Exception {
+        for (String range : List.of("bytes=0-9,20-29", "bytes=abc-", "items=0-9", "bytes=50-10")) {
+            mockMvc.perform(get(url).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().bytes(bytes));
+        }
+    }
+
+    @Test
+    void staleIfRangeSendsTheWholeFile() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 0, 10)));
+    }
+
+    // --- CONDITIONAL ---
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        for (String ifNoneMatch : List.of(etag, "W/" + etag, "\"other\", " + etag, "*")) {
+            mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(content().bytes(new byte[0]));
+        }
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    // --- NAMES ---
+    @Test
+    void traversalAndForeignNamesAreNotFound() throws Exception {
+        String hash = name.substring(0, name.indexOf('.'));
+        List<String> names = List.of(
+                "../" + name,
+                "../../../../etc/passwd",
+                "..\\" + name,
+                name.substring(0, 2) + "/" + name,
+                hash.toUpperCase() + ".png",
+                hash + ".exe",
+                hash + ".png.tmp",
+                "0".repeat(64) + ".png");
+        for (String candidate : names) {
+            assertNull(localImageStorage.resolve(candidate), candidate);
+            mockMvc.perform(get("/api/public/images/{name}", candidate))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
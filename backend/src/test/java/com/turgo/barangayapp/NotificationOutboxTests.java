@@ -0,0 +1,162 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Model.ApplicationStatus;
+import com.turgo.barangayapp.Model.NotificationOutbox;
+import com.turgo.barangayapp.Model.OutboxStatus;
+import com.turgo.barangayapp.Model.ServiceApplication;
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Repository.NotificationOutboxRepository;
+import com.turgo.barangayapp.Repository.ServiceApplicationRepository;
+import com.turgo.barangayapp.Repository.UserRepository;
+import com.turgo.barangayapp.Service.OutboxDispatcher;
+import com.turgo.barangayapp.Service.ServiceApplicationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Application changes queue mail in their own transaction; the dispatcher delivers it over SMTP
+// (to a local stand-in), retries temporary failures later, and reports what it did in metrics.
+// The scheduled poll is pushed out of the way so each test drains the outbox itself.
+@SpringBootTest(properties = {
+    "app.outbox.poll-interval-ms=3600000",
+    "app.outbox.retry-base-ms=60000"
+})
+class NotificationOutboxTests {
+
+    private static final SmtpStandIn smtp = startSmtp();
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtp::port);
+    }
+
+    @Autowired
+    private ServiceApplicationService serviceApplicationService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private ServiceApplicationRepository serviceApplicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private ServiceApplication application;
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (application != null) {
+            outboxRepository.deleteByApplication(application.getId());
+            serviceApplicationRepository.deleteById(application.getId());
+        }
+        if (user != null) {
+            userRepository.delete(user);
+        }
+    }
+
+    @Test
+    void submissionAndStatusChangeAreDelivered() {
+        createUser();
+        application = serviceApplicationService.submit(user, "Barangay Clearance", "For employment");
+
+        List<NotificationOutbox> queued = outboxRepository.findByApplicationIdOrderByIdAsc(application.getId());
+        assertEquals(1, queued.size());
+        assertEquals(OutboxStatus.PENDING, queued.get(0).getStatus());
+        assertFalse(serviceApplicationRepository.findById(application.getId()).orElseThrow().isNotificationSent());
+
+        outboxDispatcher.drain();
+
+        assertEquals(1, smtp.receivedFor(user.getEmail()).size());
+        assertTrue(smtp.receivedFor(user.getEmail()).get(0).data().contains("Barangay Clearance"));
+        assertEquals(OutboxStatus.SENT, outboxRepository.findById(queued.get(0).getId()).orElseThrow().getStatus());
+        assertTrue(serviceApplicationRepository.findById(application.getId()).orElseThrow().isNotificationSent());
+
+        assertEquals("SUCCESS", serviceApplicationService.updateStatus(application.getId(), ApplicationStatus.APPROVED));
+        assertEquals("SUCCESS", serviceApplicationService.updateStatus(application.getId(), ApplicationStatus.APPROVED));
+        assertEquals(2, outboxRepository.findByApplicationIdOrderByIdAsc(application.getId()).size()); // Repeat is not re-announced
+
+        outboxDispatcher.drain();
+
+        List<SmtpStandIn.Message> mail = smtp.receivedFor(user.getEmail());
+        assertEquals(2, mail.size());
+        assertTrue(mail.get(1).data().contains("APPROVED"));
+        assertNotNull(meterRegistry.find("barangay.outbox.depth").gauge());
+        assertTrue(meterRegistry.get("barangay.outbox.send").timer().count() >= 2);
+    }
+
+    @Test
+    void temporaryFailureIsRetriedWithBackoff() {
+        createUser();
+        application = serviceApplicationService.submit(user, "Certificate of Indigency", null);
+        Long outboxId = outboxRepository.findByApplicationIdOrderByIdAsc(application.getId()).get(0).getId();
+
+        smtp.failNext(1);
+        outboxDispatcher.drain();
+
+        NotificationOutbox retry = outboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, retry.getStatus());
+        assertEquals(1, retry.getAttempts());
+        assertNotNull(retry.getLastError());
+        assertTrue(retry.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+        assertTrue(smtp.receivedFor(user.getEmail()).isEmpty());
+
+        outboxDispatcher.drain(); // Not due yet
+        assertTrue(smtp.receivedFor(user.getEmail()).isEmpty());
+
+        retry.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(retry);
+        outboxDispatcher.drain();
+
+        NotificationOutbox sent = outboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(OutboxStatus.SENT, sent.getStatus());
+        assertEquals(2, sent.getAttempts());
+        assertEquals(1, smtp.receivedFor(user.getEmail()).size());
+    }
+
+    private void createUser() {
+        user = new User();
+        user.setEmail("outbox-" + UUID.randomUUID() + "@test.local");
+        user.setPassword("x");
+        user.setFullName("Outbox Resident");
+        user.setSecurityQuestion("q");
+        user.setSecurityAnswer("a");
+        user = userRepository.save(user);
+    }
+
+    private static SmtpStandIn startSmtp() {
+        try {
+            return new SmtpStandIn();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
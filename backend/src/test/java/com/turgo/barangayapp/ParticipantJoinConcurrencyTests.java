@@ -0,0 +1,153 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Controller.ServiceController;
+import com.turgo.barangayapp.Model.Program;
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Repository.ProgramRepository;
+import com.turgo.barangayapp.Repository.ServiceRepository;
+import com.turgo.barangayapp.Repository.UserRepository;
+import com.turgo.barangayapp.Service.ProgramService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many users join at once, each several times: every user must end up in the join table
+// exactly once, and every repeat attempt must be reported as a duplicate, not lost or failed.
+@SpringBootTest
+class ParticipantJoinConcurrencyTests {
+
+    private static final int USERS = 20;
+    private static final int ATTEMPTS_PER_USER = 5;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceController serviceController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private Program program;
+    private com.turgo.barangayapp.Model.Service service;
+
+    @AfterEach
+    void cleanUp() {
+        for (User user : users) {
+            if (program != null) programRepository.deleteParticipant(program.getId(), user.getId());
+            if (service != null) serviceRepository.deleteParticipant(service.getId(), user.getId());
+        }
+        if (program != null) programService.deleteProgram(program.getId());
+        if (service != null) serviceRepository.deleteById(service.getId());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void concurrentProgramJoinsKeepEveryUserExactlyOnce() throws Exception {
+        createUsers();
+        program = new Program();
+        program.setName("Join stress " + UUID.randomUUID());
+        program.setStartDate(LocalDateTime.now().plusDays(1));
+        program.setEndDate(LocalDateTime.now().plusDays(2));
+        program = programRepository.save(program);
+
+        List<Callable<String>> attempts = new ArrayList<>();
+        for (User user : users) {
+            for (int i = 0; i < ATTEMPTS_PER_USER; i++) {
+                attempts.add(() -> programService.joinProgram(program.getId(), user).status());
+            }
+        }
+        List<String> results = runTogether(attempts);
+
+        assertEquals(USERS, results.stream().filter("SUCCESS"::equals).count());
+        assertEquals(USERS * (ATTEMPTS_PER_USER - 1), results.stream().filter("Already joined this program"::equals).count());
+        assertEquals(USERS, programRepository.findParticipants(program.getId(), Pageable.unpaged()).getTotalElements());
+        for (User user : users) {
+            assertTrue(programRepository.isParticipant(program.getId(), user.getId()));
+        }
+    }
+
+    @Test
+    void concurrentServiceJoinsKeepEveryUserExactlyOnce() throws Exception {
+        createUsers();
+        service = new com.turgo.barangayapp.Model.Service();
+        service.setName("Join stress " + UUID.randomUUID());
+        service = serviceRepository.save(service);
+
+        List<Callable<String>> attempts = new ArrayList<>();
+        for (User user : users) {
+            for (int i = 0; i < ATTEMPTS_PER_USER; i++) {
+                attempts.add(() -> {
+                    var auth = new UsernamePasswordAuthenticationToken(user.getEmail(), null);
+                    return serviceController.joinService(service.getId(), auth).getStatusCode().is2xxSuccessful() ? "SUCCESS" : "REJECTED";
+                });
+            }
+        }
+        List<String> results = runTogether(attempts);
+
+        assertEquals(USERS, results.stream().filter("SUCCESS"::equals).count());
+        assertEquals(USERS * (ATTEMPTS_PER_USER - 1), results.stream().filter("REJECTED"::equals).count());
+        assertEquals(USERS, serviceRepository.findParticipants(service.getId(), Pageable.unpaged()).getTotalElements());
+    }
+
+    private void createUsers() {
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("join-stress-" + i + "-" + run + "@test.local");
+            user.setPassword("x");
+            user.setFullName("Join Stress " + i);
+            user.setSecurityQuestion("q");
+            user.setSecurityAnswer("a");
+            users.add(userRepository.save(user));
+        }
+    }
+
+    // Releases every task at the same instant to maximise contention
+    private static List<String> runTogether(List<Callable<String>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (Callable<String> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
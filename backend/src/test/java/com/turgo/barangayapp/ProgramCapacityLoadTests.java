@@ -0,0 +1,123 @@
+package com.turgo.barangayapp;
+
+import com.turgo.barangayapp.Model.Program;
+import com.turgo.barangayapp.Model.User;
+import com.turgo.barangayapp.Repository.ProgramRepository;
+import com.turgo.barangayapp.Repository.UserRepository;
+import com.turgo.barangayapp.Service.ProgramService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A burst of residents hitting "join" on a program with far fewer seats than people:
+// exactly `capacity` joins may succeed, the rest must be told it is full, and the counter
+// must match the join table. Measures join throughput at the capacity edge, reported through
+// JUnit's TestReporter and held to a time budget.
+@SpringBootTest
+class ProgramCapacityLoadTests {
+
+    private static final int CAPACITY = 50;
+    private static final int RESIDENTS = 500;
+    private static final int THREADS = 32;
+
+    // Generous for a local MySQL; a lock convoy or deadlock retries blow well past it
+    private static final long BURST_BUDGET_MS = 20_000;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private Program program;
+
+    @AfterEach
+    void cleanUp() {
+        if (program != null) {
+            users.forEach(user -> programRepository.deleteParticipant(program.getId(), user.getId()));
+            programService.deleteProgram(program.getId());
+        }
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void burstOfJoinsNeverOverbooks(TestReporter reporter) throws Exception {
+        String run = UUID.randomUUID().toString();
+        List<User> residents = new ArrayList<>();
+        for (int i = 0; i < RESIDENTS; i++) {
+            User user = new User();
+            user.setEmail("capacity-" + i + "-" + run + "@test.local");
+            user.setPassword("x");
+            user.setFullName("Resident " + i);
+            user.setSecurityQuestion("q");
+            user.setSecurityAnswer("a");
+            residents.add(user);
+        }
+        users.addAll(userRepository.saveAll(residents));
+
+        program = new Program();
+        program.setName("Feeding program " + run);
+        program.setStartDate(LocalDateTime.now().plusHours(1));
+        program.setEndDate(LocalDateTime.now().plusDays(1));
+        program.setCapacity(CAPACITY);
+        program = programRepository.save(program);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> results = new ArrayList<>();
+        long elapsedNanos;
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (User user : users) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return programService.joinProgram(program.getId(), user).status();
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<String> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            elapsedNanos = System.nanoTime() - began;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        reporter.publishEntry(Map.of(
+                "joins", String.valueOf(RESIDENTS),
+                "seats", String.valueOf(CAPACITY),
+                "threads", String.valueOf(THREADS),
+                "elapsedMs", String.valueOf(elapsedMs),
+                "joinsPerSecond", String.format("%.0f", RESIDENTS / (elapsedNanos / 1_000_000_000.0))));
+
+        assertTrue(elapsedMs < BURST_BUDGET_MS, RESIDENTS + " joins took " + elapsedMs + "ms");
+        assertEquals(CAPACITY, results.stream().filter("SUCCESS"::equals).count());
+        assertEquals(RESIDENTS - CAPACITY, results.stream().filter("Program is full"::equals).count());
+        assertEquals(CAPACITY, programRepository.findById(program.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(CAPACITY, programRepository.findParticipants(program.getId(), Pageable.unpaged()).getTotalElements());
+    }
+}
@@ -0,0 +1,102 @@
+package com.turgo.barangayapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Just enough of an SMTP server on localhost to receive what JavaMailSender sends.
+// failNext(n) answers the next n recipients with a temporary 451 so retries can be tested.
+class SmtpStandIn implements AutoCloseable {
+
+    record Message(List<String> recipients, String data) {
+    }
+
+    private final ServerSocket server;
+    private final List<Message> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    SmtpStandIn() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::serve, "smtp-stand-in");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    void failNext(int count) {
+        failures.set(count);
+    }
+
+    List<Message> receivedFor(String recipient) {
+        return received.stream().filter(message -> message.recipients().contains(recipient)).toList();
+    }
+
+    private void serve() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                converse(socket);
+            } catch (IOException e) {
+                // Closed, or the client hung up mid-conversation
+            }
+        }
+    }
+
+    private void converse(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        reply(out, "220 localhost SMTP stand-in");
+
+        List<String> recipients = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("RCPT TO:")) {
+                if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    reply(out, "451 Try again later");
+                } else {
+                    recipients.add(line.substring(line.indexOf('<') + 1, line.lastIndexOf('>')));
+                    reply(out, "250 OK");
+                }
+            } else if (command.equals("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder data = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    data.append(line).append('\n');
+                }
+                received.add(new Message(List.copyOf(recipients), data.toString()));
+                recipients.clear();
+                reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else if (command.startsWith("RSET")) {
+                recipients.clear();
+                reply(out, "250 OK");
+            } else {
+                reply(out, "250 OK"); // EHLO, MAIL FROM, NOOP
+            }
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+}
@@ -1,4 +1,4 @@
-import { ChangeDetectorRef, Component, OnDestroy, OnInit } from '@angular/core';
+import { ChangeDetectorRef, Component, HostListener, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { MyHttpClient } from '../my-http-client';
@@ -11,6 +11,7 @@ interface Announcement {
   createdAt: string;
   eventDate?: string; // <--- NEW FIELD
   imageUrl?: string;
+  imageSrcset?: string;
   likeCount?: number;
   isLiked?: boolean;
   comments?: Comment[];
@@ -39,6 +40,9 @@ export class Announcements implements OnInit, OnDestroy {
   filteredAnnouncements: Announcement[] = [];
   searchQuery: string = '';
   isLoading: boolean = true;
+  isLoadingMore: boolean = false;
+  nextCursor: string | null = null;
+  private readonly pageSize = 10;
   error: string = '';
   isAdmin: boolean = false;
   private authSub?: Subscription;
@@ -50,7 +54,8 @@ export class Announcements implements OnInit, OnDestroy {
     title: '',
     content: '',
     eventDate: '', // <--- NEW FIELD
-    imageUrl: ''
+    imageUrl: '',
+    imageSrcset: ''
   };
 
   selectedImageFile: File | null = null;
@@ -92,7 +97,7 @@ export class Announcements implements OnInit, OnDestroy {
 
   onSearchChange(): void {
     if (!this.searchQuery.trim()) {
-      this.filteredAnnouncements = this.announcements;
+      this.filteredAnnouncements = [...this.announcements];
       return;
     }
     const query = this.searchQuery.toLowerCase();
@@ -104,32 +109,12 @@ export class Announcements implements OnInit, OnDestroy {
 
   loadAnnouncements(): void {
     this.isLoading = true;
-    this.http.get('/api/public/announcements').subscribe({
-      next: (data: unknown) => {
+    this.nextCursor = null;
+    this.announcements = [];
+    this.http.get(`/api/public/announcements/page?size=${this.pageSize}`).subscribe({
+      next: (data: any) => {
         try {
-          const list = Array.isArray(data) ? (data as Announcement[]) : [];
-          // The backend now filters by date, but we can still sort or map here if needed
-          const uniqueMap = new Map<number, Announcement>();
-          list.forEach(item => {
-            if (!uniqueMap.has(item.id)) {
-              uniqueMap.set(item.id, item);
-            }
-          });
-
-          // Sort by eventDate ascending (nearest future event first)
-          this.announcements = Array.from(uniqueMap.values()).sort((a, b) => {
-            const dateA = a.eventDate ? new Date(a.eventDate).getTime() : new Date(a.createdAt).getTime();
-            const dateB = b.eventDate ? new Date(b.eventDate).getTime() : new Date(b.createdAt).getTime();
-            return dateA - dateB;
-          });
-
-          this.filteredAnnouncements = [...this.announcements];
-          this.announcements.forEach((announcement) => {
-            announcement.likeCount = 0;
-            announcement.isLiked = false;
-            this.loadLikes('ANNOUNCEMENT', announcement.id, announcement);
-            this.loadComments('ANNOUNCEMENT', announcement.id, announcement);
-          });
+          this.appendPage(data);
         } finally {
           this.isLoading = false;
           this.cdr.detectChanges();
@@ -143,6 +128,63 @@ export class Announcements implements OnInit, OnDestroy {
     });
   }
 
+  // Infinite scroll: fetch the next page once the user is near the bottom
+  @HostListener('window:scroll')
+  onWindowScroll(): void {
+    if (window.innerHeight + window.scrollY >= document.body.offsetHeight - 300) {
+      this.loadMore();
+    }
+  }
+
+  loadMore(): void {
+    if (!this.nextCursor || this.isLoading || this.isLoadingMore) return;
+    this.isLoadingMore = true;
+    this.http.get(`/api/public/announcements/page?size=${this.pageSize}&cursor=${encodeURIComponent(this.nextCursor)}`).subscribe({
+      next: (data: any) => {
+        try {
+          this.appendPage(data);
+        } finally {
+          this.isLoadingMore = false;
+          this.cdr.detectChanges();
+        }
+      },
+      error: () => {
+        this.isLoadingMore = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  private appendPage(data: any): void {
+    const list = Array.isArray(data?.items) ? (data.items as Announcement[]) : [];
+    this.nextCursor = data?.nextCursor || null;
+
+    const uniqueMap = new Map<number, Announcement>();
+    this.announcements.forEach(item => uniqueMap.set(item.id, item));
+    const added: Announcement[] = [];
+    list.forEach(item => {
+      if (!uniqueMap.has(item.id)) {
+        uniqueMap.set(item.id, item);
+        added.push(item);
+      }
+    });
+
+    // Sort by eventDate ascending (nearest future event first)
+    this.announcements = Array.from(uniqueMap.values()).sort((a, b) => {
+      const dateA = a.eventDate ? new Date(a.eventDate).getTime() : new Date(a.createdAt).getTime();
+      const dateB = b.eventDate ? new Date(b.eventDate).getTime() : new Date(b.createdAt).getTime();
+      return dateA - dateB;
+    });
+
+    this.onSearchChange();
+    added.forEach((announcement) => {
+      announcement.likeCount = 0;
+      announcement.isLiked = false;
+      this.loadLikes('ANNOUNCEMENT', announcement.id, announcement);
+      this.loadComments('ANNOUNCEMENT', announcement.id, announcement);
+    });
+  }
+
   // --- Edit and Delete Logic ---
 
   startEdit(announcement: Announcement): void {
@@ -152,7 +194,8 @@ export class Announcements implements OnInit, OnDestroy {
       content: announcement.content,
       // Format the date so the input box understands it
       eventDate: announcement.eventDate ? this.formatDateForInput(announcement.eventDate) : '',
-      imageUrl: announcement.imageUrl || ''
+      imageUrl: announcement.imageUrl || '',
+      imageSrcset: announcement.imageSrcset || ''
     };
     this.imagePreview = announcement.imageUrl || null;
     this.showCreateForm = true;
@@ -162,7 +205,7 @@ export class Announcements implements OnInit, OnDestroy {
   cancelEdit(): void {
     this.editingAnnouncement = null;
     this.showCreateForm = false;
-    this.newAnnouncement = { title: '', content: '', eventDate: '', imageUrl: '' }; // Reset eventDate
+    this.newAnnouncement = { title: '', content: '', eventDate: '', imageUrl: '', imageSrcset: '' }; // Reset eventDate
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.formErrors = {};
@@ -247,7 +290,7 @@ export class Announcements implements OnInit, OnDestroy {
   private finishForm(): void {
     this.showCreateForm = false;
     this.editingAnnouncement = null;
-    this.newAnnouncement = { title: '', content: '', eventDate: '', imageUrl: '' };
+    this.newAnnouncement = { title: '', content: '', eventDate: '', imageUrl: '', imageSrcset: '' };
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.formErrors = {};
@@ -398,6 +441,7 @@ export class Announcements implements OnInit, OnDestroy {
     this.http.uploadImage(this.selectedImageFile).subscribe({
       next: (response: any) => {
         this.newAnnouncement.imageUrl = response.imageUrl;
+        this.newAnnouncement.imageSrcset = response.imageSrcset || '';
         this.isUploadingImage = false;
         this.cdr.detectChanges();
       },
@@ -412,6 +456,7 @@ export class Announcements implements OnInit, OnDestroy {
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.newAnnouncement.imageUrl = '';
+    this.newAnnouncement.imageSrcset = '';
   }
 
   formatDate(dateString: string): string {
@@ -1,4 +1,4 @@
-import { Component, OnDestroy, OnInit, ChangeDetectorRef } from '@angular/core';
+import { Component, HostListener, OnDestroy, OnInit, ChangeDetectorRef } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { MyHttpClient } from '../my-http-client';
@@ -11,6 +11,7 @@ interface Event {
   eventDate: string;
   location: string;
   imageUrl?: string;
+  imageSrcset?: string;
   likeCount?: number;
   isLiked?: boolean;
   comments?: Comment[];
@@ -39,6 +40,9 @@ export class Events implements OnInit, OnDestroy {
   filteredEvents: Event[] = [];
   searchQuery: string = '';
   isLoading: boolean = true;
+  isLoadingMore: boolean = false;
+  nextCursor: string | null = null;
+  private readonly pageSize = 10;
   error: string = '';
   isAdmin: boolean = false;
   private authSub?: Subscription;
@@ -50,7 +54,8 @@ export class Events implements OnInit, OnDestroy {
     description: '',
     eventDate: '',
     location: '',
-    imageUrl: ''
+    imageUrl: '',
+    imageSrcset: ''
   };
   selectedImageFile: File | null = null;
   imagePreview: string | null = null;
@@ -93,7 +98,7 @@ export class Events implements OnInit, OnDestroy {
 
   onSearchChange(): void {
     if (!this.searchQuery.trim()) {
-      this.filteredEvents = this.events;
+      this.filteredEvents = [...this.events];
       return;
     }
     const query = this.searchQuery.toLowerCase();
@@ -107,26 +112,12 @@ export class Events implements OnInit, OnDestroy {
   loadEvents(): void {
     this.isLoading = true;
     this.error = '';
-    this.http.get('/api/public/events').subscribe({
-      next: (data: unknown) => {
+    this.nextCursor = null;
+    this.events = [];
+    this.http.get(`/api/public/events/page?size=${this.pageSize}`).subscribe({
+      next: (data: any) => {
         try {
-          const list = Array.isArray(data) ? (data as Event[]) : [];
-
-          // Sort Logic: Closest upcoming events first (Ascending)
-          this.events = list.sort((a, b) => {
-            const dateA = new Date(a.eventDate).getTime();
-            const dateB = new Date(b.eventDate).getTime();
-            return dateA - dateB;
-          });
-
-          this.filteredEvents = [...this.events];
-
-          this.events.forEach((event) => {
-            event.likeCount = 0;
-            event.isLiked = false;
-            this.loadLikes('EVENT', event.id, event);
-            this.loadComments('EVENT', event.id, event);
-          });
+          this.appendPage(data);
         } finally {
           this.isLoading = false;
           this.cdr.detectChanges();
@@ -140,6 +131,57 @@ export class Events implements OnInit, OnDestroy {
     });
   }
 
+  // Infinite scroll: fetch the next page once the user is near the bottom
+  @HostListener('window:scroll')
+  onWindowScroll(): void {
+    if (window.innerHeight + window.scrollY >= document.body.offsetHeight - 300) {
+      this.loadMore();
+    }
+  }
+
+  loadMore(): void {
+    if (!this.nextCursor || this.isLoading || this.isLoadingMore) return;
+    this.isLoadingMore = true;
+    this.http.get(`/api/public/events/page?size=${this.pageSize}&cursor=${encodeURIComponent(this.nextCursor)}`).subscribe({
+      next: (data: any) => {
+        try {
+          this.appendPage(data);
+        } finally {
+          this.isLoadingMore = false;
+          this.cdr.detectChanges();
+        }
+      },
+      error: () => {
+        this.isLoadingMore = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  private appendPage(data: any): void {
+    const list = Array.isArray(data?.items) ? (data.items as Event[]) : [];
+    this.nextCursor = data?.nextCursor || null;
+
+    const known = new Set(this.events.map(e => e.id));
+    const added = list.filter(e => !known.has(e.id));
+
+    // Sort Logic: Closest upcoming events first (Ascending)
+    this.events = [...this.events, ...added].sort((a, b) => {
+      const dateA = new Date(a.eventDate).getTime();
+      const dateB = new Date(b.eventDate).getTime();
+      return dateA - dateB;
+    });
+
+    this.onSearchChange();
+
+    added.forEach((event) => {
+      event.likeCount = 0;
+      event.isLiked = false;
+      this.loadLikes('EVENT', event.id, event);
+      this.loadComments('EVENT', event.id, event);
+    });
+  }
+
   // --- Admin Form Logic ---
 
   startEdit(event: Event): void {
@@ -149,7 +191,8 @@ export class Events implements OnInit, OnDestroy {
       description: event.description || '',
       eventDate: this.formatDateForInput(event.eventDate), // Format for input
       location: event.location || '',
-      imageUrl: event.imageUrl || ''
+      imageUrl: event.imageUrl || '',
+      imageSrcset: event.imageSrcset || ''
     };
     this.selectedImageFile = null;
     this.imagePreview = event.imageUrl || null;
@@ -160,7 +203,7 @@ export class Events implements OnInit, OnDestroy {
   cancelEdit(): void {
     this.editingEvent = null;
     this.showCreateForm = false;
-    this.newEvent = { title: '', description: '', eventDate: '', location: '', imageUrl: '' };
+    this.newEvent = { title: '', description: '', eventDate: '', location: '', imageUrl: '', imageSrcset: '' };
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.formErrors = {};
@@ -284,6 +327,7 @@ export class Events implements OnInit, OnDestroy {
     this.http.uploadImage(this.selectedImageFile).subscribe({
       next: (response: any) => {
         this.newEvent.imageUrl = response.imageUrl;
+        this.newEvent.imageSrcset = response.imageSrcset || '';
         this.isUploadingImage = false;
         this.cdr.detectChanges();
       },
@@ -298,6 +342,7 @@ export class Events implements OnInit, OnDestroy {
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.newEvent.imageUrl = '';
+    this.newEvent.imageSrcset = '';
   }
 
   // --- Likes & Comments ---
@@ -9,12 +9,19 @@ interface FeedbackItem {
   id: number;
   message: string;
   submittedAt: string;
+  read: boolean;
   adminReply?: string;
   repliedAt?: string;
-  user?: {
-    fullName: string;
-    email: string;
-  };
+  userName?: string;
+  userEmail?: string;
+  similarCount?: number;
+}
+
+interface DuplicateCluster {
+  representative: FeedbackItem;
+  size: number;
+  distinctUsers: number;
+  feedbackIds: number[];
 }
 
 @Component({
@@ -39,6 +46,16 @@ export class Feedback implements OnInit, OnDestroy {
   showSuccessAlert: boolean = false;
   isSubmitting: boolean = false;
 
+  // Admin Inbox Variables
+  inboxFilter: string = 'all';
+  nextCursor: string | null = null;
+  isLoadingMore: boolean = false;
+  unreadCount: number = 0;
+  selected = new Set<number>();
+  clusters: DuplicateCluster[] = [];
+  trendingTerms: { term: string; count: number }[] = [];
+  trendingDays: number = 7;
+
   // Admin Reply Variables
   replyingTo: number | null = null;
   replyText: { [key: number]: string } = {};
@@ -77,8 +94,8 @@ export class Feedback implements OnInit, OnDestroy {
     const query = this.searchQuery.toLowerCase();
     this.filteredFeedback = this.feedback.filter(f =>
       f.message.toLowerCase().includes(query) ||
-      f.user?.fullName?.toLowerCase().includes(query) ||
-      f.user?.email?.toLowerCase().includes(query) ||
+      f.userName?.toLowerCase().includes(query) ||
+      f.userEmail?.toLowerCase().includes(query) ||
       f.adminReply?.toLowerCase().includes(query)
     );
   }
@@ -130,10 +147,18 @@ export class Feedback implements OnInit, OnDestroy {
     }
 
     this.error = '';
-    this.http.get('/api/admin/feedback').subscribe({
+    this.selected.clear();
+    this.loadUnreadCount();
+    this.loadTrending();
+    if (this.inboxFilter === 'duplicates') {
+      this.loadClusters();
+      return;
+    }
+    this.http.get(this.inboxUrl(null)).subscribe({
       next: (data: any) => {
-        this.feedback = Array.isArray(data) ? data : [];
-        this.filteredFeedback = this.feedback;
+        this.feedback = Array.isArray(data?.items) ? data.items : [];
+        this.nextCursor = data?.nextCursor || null;
+        this.onSearchChange();
         this.isLoading = false;
         this.cdr.detectChanges();
       },
@@ -144,12 +169,128 @@ export class Feedback implements OnInit, OnDestroy {
         }
         this.feedback = [];
         this.filteredFeedback = [];
+        this.nextCursor = null;
         this.isLoading = false;
         this.cdr.detectChanges();
       }
     });
   }
 
+  loadMore(): void {
+    if (!this.nextCursor || this.isLoadingMore) return;
+    this.isLoadingMore = true;
+    this.http.get(this.inboxUrl(this.nextCursor)).subscribe({
+      next: (data: any) => {
+        const items: FeedbackItem[] = Array.isArray(data?.items) ? data.items : [];
+        const known = new Set(this.feedback.map(f => f.id));
+        this.feedback = [...this.feedback, ...items.filter(f => !known.has(f.id))];
+        this.nextCursor = data?.nextCursor || null;
+        this.onSearchChange();
+        this.isLoadingMore = false;
+        this.cdr.detectChanges();
+      },
+      error: () => {
+        this.isLoadingMore = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  private inboxUrl(cursor: string | null): string {
+    const params = new URLSearchParams({ size: '20' });
+    switch (this.inboxFilter) {
+      case 'unread': params.set('read', 'false'); break;
+      case 'read': params.set('read', 'true'); break;
+      case 'replied': params.set('replied', 'true'); break;
+      case 'unreplied': params.set('replied', 'false'); break;
+    }
+    if (cursor) params.set('cursor', cursor);
+    return `/api/admin/feedback?${params.toString()}`;
+  }
+
+  private loadClusters(): void {
+    this.http.get('/api/admin/feedback/duplicates').subscribe({
+      next: (data: any) => {
+        this.clusters = Array.isArray(data) ? data : [];
+        this.feedback = [];
+        this.filteredFeedback = [];
+        this.nextCursor = null;
+        this.isLoading = false;
+        this.cdr.detectChanges();
+      },
+      error: () => {
+        this.error = 'Failed to load duplicate groups';
+        this.clusters = [];
+        this.isLoading = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  selectCluster(cluster: DuplicateCluster): void {
+    cluster.feedbackIds.forEach(id => this.selected.add(id));
+  }
+
+  loadTrending(): void {
+    this.http.get(`/api/admin/feedback/trending?days=${this.trendingDays}&limit=15`).subscribe({
+      next: (data: any) => {
+        this.trendingTerms = Array.isArray(data) ? data : [];
+        this.cdr.detectChanges();
+      },
+      error: () => {}
+    });
+  }
+
+  searchTerm(term: string): void {
+    this.searchQuery = term;
+    this.onSearchChange();
+  }
+
+  loadUnreadCount(): void {
+    this.http.get('/api/admin/feedback/unread-count').subscribe({
+      next: (data: any) => {
+        this.unreadCount = data?.unread || 0;
+        this.cdr.detectChanges();
+      },
+      error: () => {}
+    });
+  }
+
+  toggleSelected(feedbackId: number): void {
+    if (this.selected.has(feedbackId)) {
+      this.selected.delete(feedbackId);
+    } else {
+      this.selected.add(feedbackId);
+    }
+  }
+
+  markSelectedRead(): void {
+    const feedbackIds = Array.from(this.selected);
+    if (feedbackIds.length === 0) return;
+    this.http.post('/api/admin/feedback/bulk-read', { feedbackIds }).subscribe({
+      next: () => this.loadFeedback(),
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to mark feedback as read');
+      }
+    });
+  }
+
+  deleteSelected(): void {
+    const feedbackIds = Array.from(this.selected);
+    if (feedbackIds.length === 0 || !confirm(`Delete ${feedbackIds.length} selected feedback?`)) {
+      return;
+    }
+    this.http.post('/api/admin/feedback/bulk-delete', { feedbackIds }).subscribe({
+      next: (res: any) => {
+        this.loadFeedback();
+        setTimeout(() => alert(`${res?.deleted ?? 0} feedback deleted`), 100);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to delete feedback');
+      }
+    });
+  }
+
   submitFeedback(): void {
     if (!this.http.isLoggedIn()) {
       if (confirm('You need to login to submit feedback. Would you like to go to the login page?')) {
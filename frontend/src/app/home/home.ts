@@ -10,6 +10,7 @@ interface Announcement {
   content: string;
   createdAt: string;
   imageUrl?: string;
+  imageSrcset?: string;
 }
 
 interface Program {
@@ -19,6 +20,7 @@ interface Program {
   startDate: string;
   endDate: string;
   imageUrl?: string;
+  imageSrcset?: string;
 }
 
 interface Event {
@@ -28,6 +30,7 @@ interface Event {
   eventDate: string;
   location: string;
   imageUrl?: string;
+  imageSrcset?: string;
 }
 
 @Component({
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders, HttpErrorResponse } from '@angular/common/http';
-import { BehaviorSubject, Observable, throwError, race, timer } from 'rxjs';
-import { catchError, switchMap } from 'rxjs/operators';
+import { BehaviorSubject, Observable, of, throwError, race, timer } from 'rxjs';
+import { catchError, exhaustMap, first, switchMap } from 'rxjs/operators';
 
 export interface AuthResponse {
   token: string;
@@ -147,11 +147,26 @@ export class MyHttpClient {
     }
   }
 
+  // Authenticated file download (e.g. CSV exports) as a Blob
+  download(url: string): Observable<Blob> {
+    return this.http.get(this.baseUrl + url, { headers: this.getHeaders(), responseType: 'blob' })
+      .pipe(catchError(this.handleError));
+  }
+
+  // Uploads run as server-side jobs: poll the job until it finishes, then emit { imageUrl, imageSrcset }
   uploadImage(file: File): Observable<any> {
     const formData = new FormData();
     formData.append('file', file);
-    return this.http.post(this.baseUrl + '/api/admin/upload-image', formData, { headers: this.getHeaders() })
-      .pipe(catchError(this.handleError));
+    return this.http.post<any>(this.baseUrl + '/api/admin/upload-image?async=true', formData, { headers: this.getHeaders() }).pipe(
+      switchMap(job => timer(0, 750).pipe(
+        exhaustMap(() => this.http.get<any>(this.baseUrl + `/api/admin/upload-jobs/${job.jobId}`, { headers: this.getHeaders() })),
+        first(status => status.status === 'SUCCEEDED' || status.status === 'FAILED')
+      )),
+      switchMap(status => status.status === 'SUCCEEDED'
+        ? of(status)
+        : throwError(() => ({ error: { error: status.error || 'Failed to upload image' } }))),
+      catchError(this.handleError)
+    );
   }
 
   getSecurityQuestion(email: string): Observable<any> {
@@ -1,4 +1,4 @@
-import { Component, OnDestroy, OnInit, ChangeDetectorRef } from '@angular/core';
+import { Component, HostListener, OnDestroy, OnInit, ChangeDetectorRef } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { MyHttpClient } from '../my-http-client';
@@ -12,16 +12,27 @@ interface Program {
   endDate: string;
   isActive: boolean;
   imageUrl?: string;
-  participants?: {
-    id: number;
-    fullName: string;
-    email: string;
-  }[];
+  imageSrcset?: string;
+  participantCount?: number;
+  capacity?: number | null;
   likeCount?: number;
   isLiked?: boolean;
   comments?: Comment[];
 }
 
+interface Participant {
+  id: number;
+  fullName: string;
+  email: string;
+  phoneNumber?: string;
+}
+
+interface WaitlistPosition {
+  programId: number;
+  position: number;
+  waitlistSize: number;
+}
+
 interface Comment {
   id: number;
   content: string;
@@ -45,6 +56,9 @@ export class Programs implements OnInit, OnDestroy {
   filteredPrograms: Program[] = [];
   searchQuery: string = '';
   isLoading: boolean = true;
+  isLoadingMore: boolean = false;
+  nextCursor: string | null = null;
+  private readonly pageSize = 10;
   error: string = '';
   isAdmin: boolean = false;
   private authSub?: Subscription;
@@ -57,13 +71,23 @@ export class Programs implements OnInit, OnDestroy {
     description: '',
     startDate: '',
     endDate: '',
-    imageUrl: ''
+    imageUrl: '',
+    imageSrcset: '',
+    capacity: null as number | null
   };
   selectedImageFile: File | null = null;
   imagePreview: string | null = null;
   isUploadingImage: boolean = false;
   formErrors: { [key: string]: string } = {};
 
+  // Participants are never part of the list payload: the user's own memberships
+  // come from /joined, admins fetch a program's roster on demand
+  joinedProgramIds: Set<number> = new Set();
+  rosters: { [key: number]: Participant[] } = {};
+  rosterSelection: { [key: number]: Set<number> } = {};
+  bulkAddIds: { [key: number]: string } = {};
+  waitlist: { [key: number]: WaitlistPosition } = {};
+
   expandedComments: Set<number> = new Set();
   commentTexts: { [key: number]: string } = {};
 
@@ -77,6 +101,7 @@ export class Programs implements OnInit, OnDestroy {
     this.authSub = this.http.authChanged$.subscribe(() => {
       this.isAdmin = this.http.isAdmin();
       this.programs.forEach(p => this.loadLikes('PROGRAM', p.id, p));
+      this.loadJoinedPrograms();
       this.cdr.detectChanges();
     });
 
@@ -100,7 +125,7 @@ export class Programs implements OnInit, OnDestroy {
 
   onSearchChange(): void {
     if (!this.searchQuery.trim()) {
-      this.filteredPrograms = this.programs;
+      this.filteredPrograms = [...this.programs];
       return;
     }
     const query = this.searchQuery.toLowerCase();
@@ -113,24 +138,14 @@ export class Programs implements OnInit, OnDestroy {
   loadPrograms(): void {
     this.isLoading = true;
     this.error = '';
-    this.http.get('/api/public/programs').subscribe({
-      next: (data: unknown) => {
+    this.nextCursor = null;
+    this.programs = [];
+    this.rosters = {};
+    this.loadJoinedPrograms();
+    this.http.get(`/api/public/programs/page?size=${this.pageSize}`).subscribe({
+      next: (data: any) => {
         try {
-          const list = Array.isArray(data) ? (data as Program[]) : [];
-
-          // Sort: Programs starting soon come first
-          this.programs = list.sort((a, b) => {
-            return new Date(a.startDate).getTime() - new Date(b.startDate).getTime();
-          });
-
-          this.filteredPrograms = [...this.programs];
-
-          this.programs.forEach((program) => {
-            program.likeCount = 0;
-            program.isLiked = false;
-            this.loadLikes('PROGRAM', program.id, program);
-            this.loadComments('PROGRAM', program.id, program);
-          });
+          this.appendPage(data);
         } finally {
           this.isLoading = false;
           this.cdr.detectChanges();
@@ -146,6 +161,55 @@ export class Programs implements OnInit, OnDestroy {
     });
   }
 
+  // Infinite scroll: fetch the next page once the user is near the bottom
+  @HostListener('window:scroll')
+  onWindowScroll(): void {
+    if (window.innerHeight + window.scrollY >= document.body.offsetHeight - 300) {
+      this.loadMore();
+    }
+  }
+
+  loadMore(): void {
+    if (!this.nextCursor || this.isLoading || this.isLoadingMore) return;
+    this.isLoadingMore = true;
+    this.http.get(`/api/public/programs/page?size=${this.pageSize}&cursor=${encodeURIComponent(this.nextCursor)}`).subscribe({
+      next: (data: any) => {
+        try {
+          this.appendPage(data);
+        } finally {
+          this.isLoadingMore = false;
+          this.cdr.detectChanges();
+        }
+      },
+      error: () => {
+        this.isLoadingMore = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  private appendPage(data: any): void {
+    const list = Array.isArray(data?.items) ? (data.items as Program[]) : [];
+    this.nextCursor = data?.nextCursor || null;
+
+    const known = new Set(this.programs.map(p => p.id));
+    const added = list.filter(p => !known.has(p.id));
+
+    // Sort: Programs starting soon come first
+    this.programs = [...this.programs, ...added].sort((a, b) => {
+      return new Date(a.startDate).getTime() - new Date(b.startDate).getTime();
+    });
+
+    this.onSearchChange();
+
+    added.forEach((program) => {
+      program.likeCount = 0;
+      program.isLiked = false;
+      this.loadLikes('PROGRAM', program.id, program);
+      this.loadComments('PROGRAM', program.id, program);
+    });
+  }
+
   // --- Helper for Badges ---
   isHappeningNow(program: Program): boolean {
     const now = new Date().getTime();
@@ -154,10 +218,167 @@ export class Programs implements OnInit, OnDestroy {
     return now >= start && now <= end;
   }
 
+  isFull(program: Program): boolean {
+    return !!program.capacity && (program.participantCount || 0) >= program.capacity;
+  }
+
   isParticipant(program: Program): boolean {
-    if (!this.http.isLoggedIn() || !program.participants) return false;
-    const user = this.http.getCurrentUser();
-    return user !== null && program.participants.some(p => p.id === user.userId);
+    return this.http.isLoggedIn() && this.joinedProgramIds.has(program.id);
+  }
+
+  loadJoinedPrograms(): void {
+    if (!this.http.isLoggedIn()) {
+      this.joinedProgramIds = new Set();
+      this.waitlist = {};
+      return;
+    }
+    this.http.get('/api/programs/joined').subscribe({
+      next: (ids: number[]) => {
+        this.joinedProgramIds = new Set(ids || []);
+        this.cdr.detectChanges();
+      },
+      error: () => {
+        this.joinedProgramIds = new Set();
+      }
+    });
+    this.http.get('/api/programs/waitlisted').subscribe({
+      next: (positions: WaitlistPosition[]) => {
+        this.waitlist = {};
+        (positions || []).forEach(p => this.waitlist[p.programId] = p);
+        this.cdr.detectChanges();
+      },
+      error: () => {
+        this.waitlist = {};
+      }
+    });
+  }
+
+  joinWaitlist(programId: number): void {
+    if (!this.http.isLoggedIn()) {
+      if (confirm('You need to login to join a waitlist. Would you like to go to the login page?')) {
+        window.location.href = '/login';
+      }
+      return;
+    }
+
+    this.http.post(`/api/programs/${programId}/waitlist`, {}).subscribe({
+      next: () => {
+        alert('You are on the waitlist. You will be added automatically when a seat opens.');
+        this.loadPrograms();
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to join waitlist');
+        this.loadPrograms();
+      }
+    });
+  }
+
+  leaveWaitlist(programId: number): void {
+    if (!confirm('Are you sure you want to leave the waitlist?')) {
+      return;
+    }
+
+    this.http.delete(`/api/programs/${programId}/waitlist`).subscribe({
+      next: () => {
+        alert('You left the waitlist.');
+        this.loadPrograms();
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to leave waitlist');
+      }
+    });
+  }
+
+  toggleRoster(programId: number): void {
+    if (this.rosters[programId]) {
+      delete this.rosters[programId];
+      return;
+    }
+    this.loadRoster(programId);
+  }
+
+  toggleRosterSelection(programId: number, userId: number): void {
+    const selection = this.rosterSelection[programId] || (this.rosterSelection[programId] = new Set());
+    if (selection.has(userId)) {
+      selection.delete(userId);
+    } else {
+      selection.add(userId);
+    }
+  }
+
+  removeSelected(programId: number): void {
+    const userIds = Array.from(this.rosterSelection[programId] || []);
+    if (userIds.length === 0 || !confirm(`Remove ${userIds.length} selected participant(s)?`)) {
+      return;
+    }
+    this.http.post(`/api/admin/programs/${programId}/participants/bulk-remove`, { userIds }).subscribe({
+      next: (res: any) => {
+        alert(this.summarizeBulk(res?.results));
+        this.rosterSelection[programId] = new Set();
+        this.loadPrograms();
+        this.loadRoster(programId);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to remove participants');
+      }
+    });
+  }
+
+  // Accepts user ids separated by commas, spaces or new lines
+  addByIds(programId: number): void {
+    const userIds = (this.bulkAddIds[programId] || '')
+      .split(/[\s,]+/)
+      .map(id => Number(id))
+      .filter(id => Number.isInteger(id) && id > 0);
+    if (userIds.length === 0) {
+      alert('Enter at least one user ID');
+      return;
+    }
+    this.http.post(`/api/admin/programs/${programId}/participants/bulk-add`, { userIds }).subscribe({
+      next: (res: any) => {
+        alert(this.summarizeBulk(res?.results));
+        this.bulkAddIds[programId] = '';
+        this.loadPrograms();
+        this.loadRoster(programId);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to add participants');
+      }
+    });
+  }
+
+  private summarizeBulk(results: { userId: number; status: string }[] = []): string {
+    const counts: { [status: string]: number } = {};
+    results.forEach(r => counts[r.status] = (counts[r.status] || 0) + 1);
+    return Object.entries(counts).map(([status, count]) => `${status.replace(/_/g, ' ').toLowerCase()}: ${count}`).join('\n');
+  }
+
+  exportRoster(programId: number): void {
+    this.http.download(`/api/admin/programs/${programId}/participants.csv`).subscribe({
+      next: (blob: Blob) => {
+        const url = URL.createObjectURL(blob);
+        const link = document.createElement('a');
+        link.href = url;
+        link.download = `program-${programId}-participants.csv`;
+        link.click();
+        URL.revokeObjectURL(url);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to export participants');
+      }
+    });
+  }
+
+  loadRoster(programId: number): void {
+    this.http.get(`/api/admin/programs/${programId}/participants?size=200`).subscribe({
+      next: (data: any) => {
+        this.rosters[programId] = Array.isArray(data?.items) ? data.items : [];
+        this.cdr.detectChanges();
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to load participants');
+      }
+    });
   }
 
   joinProgram(programId: number): void {
@@ -169,8 +390,14 @@ export class Programs implements OnInit, OnDestroy {
     }
 
     this.http.post(`/api/programs/${programId}/join`, {}).subscribe({
-      next: () => {
-        alert('Successfully joined the program!');
+      next: (res: any) => {
+        const conflicts: { name: string }[] = res?.conflicts || [];
+        if (conflicts.length > 0) {
+          alert('Successfully joined the program!\n\nHeads up: its schedule overlaps with ' +
+            conflicts.map(c => c.name).join(', ') + '.');
+        } else {
+          alert('Successfully joined the program!');
+        }
         this.loadPrograms();
       },
       error: (err: any) => {
@@ -214,6 +441,7 @@ export class Programs implements OnInit, OnDestroy {
       next: () => {
         alert('Participant removed successfully!');
         this.loadPrograms();
+        this.loadRoster(programId);
       },
       error: (err: any) => {
         alert(err.error?.error || err.message || 'Failed to remove participant');
@@ -249,6 +477,7 @@ export class Programs implements OnInit, OnDestroy {
     this.http.uploadImage(this.selectedImageFile).subscribe({
       next: (response: any) => {
         this.newProgram.imageUrl = response.imageUrl;
+        this.newProgram.imageSrcset = response.imageSrcset || '';
         this.isUploadingImage = false;
         this.cdr.detectChanges();
       },
@@ -263,6 +492,7 @@ export class Programs implements OnInit, OnDestroy {
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.newProgram.imageUrl = '';
+    this.newProgram.imageSrcset = '';
   }
 
   startEdit(program: Program): void {
@@ -272,7 +502,9 @@ export class Programs implements OnInit, OnDestroy {
       description: program.description || '',
       startDate: this.formatDateForInput(program.startDate),
       endDate: this.formatDateForInput(program.endDate),
-      imageUrl: program.imageUrl || ''
+      imageUrl: program.imageUrl || '',
+      imageSrcset: program.imageSrcset || '',
+      capacity: program.capacity ?? null
     };
     this.selectedImageFile = null;
     this.imagePreview = program.imageUrl || null;
@@ -283,7 +515,7 @@ export class Programs implements OnInit, OnDestroy {
   cancelEdit(): void {
     this.editingProgram = null;
     this.showCreateForm = false;
-    this.newProgram = { name: '', description: '', startDate: '', endDate: '', imageUrl: '' };
+    this.newProgram = { name: '', description: '', startDate: '', endDate: '', imageUrl: '', imageSrcset: '', capacity: null };
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.formErrors = {};
@@ -311,6 +543,9 @@ export class Programs implements OnInit, OnDestroy {
     if (!this.newProgram.endDate) {
       this.formErrors['endDate'] = 'End date is required';
     }
+    if (this.newProgram.capacity !== null && this.newProgram.capacity < 1) {
+      this.formErrors['capacity'] = 'Capacity must be at least 1';
+    }
 
     if (Object.keys(this.formErrors).length > 0) {
       return;
@@ -10,12 +10,16 @@ interface Service {
   name: string;
   description: string;
   imageUrl?: string;
+  imageSrcset?: string;
   isActive: boolean;
-  participants?: {
-    id: number;
-    fullName: string;
-    email: string;
-  }[];
+  participantCount?: number;
+}
+
+interface Participant {
+  id: number;
+  fullName: string;
+  email: string;
+  phoneNumber?: string;
 }
 
 interface ServiceApplication {
@@ -28,6 +32,9 @@ interface ServiceApplication {
     fullName: string;
     email: string;
   };
+  // Admin queue rows carry the applicant inline instead of the nested user
+  applicantName?: string;
+  applicantEmail?: string;
 }
 
 @Component({
@@ -43,6 +50,11 @@ export class Services implements OnInit, OnDestroy {
   searchQuery: string = '';
   myApplications: ServiceApplication[] = [];
   allApplications: ServiceApplication[] = [];
+  appsStatusFilter: string = '';
+  appsTypeFilter: string = '';
+  appsNextCursor: string | null = null;
+  appsLoadingMore: boolean = false;
+  selectedApplications = new Set<number>();
   isLoading: boolean = true;
   error: string = '';
   isAdmin: boolean = false;
@@ -55,13 +67,20 @@ export class Services implements OnInit, OnDestroy {
   newService = {
     name: '',
     description: '',
-    imageUrl: ''
+    imageUrl: '',
+    imageSrcset: ''
   };
   selectedImageFile: File | null = null;
   imagePreview: string | null = null;
   isUploadingImage: boolean = false;
   formErrors: { [key: string]: string } = {};
   successMessage: string = '';
+  // Participants are never part of the list payload: the user's own memberships
+  // come from /joined, admins fetch a service's roster on demand
+  joinedServiceIds: Set<number> = new Set();
+  rosters: { [key: number]: Participant[] } = {};
+  rosterSelection: { [key: number]: Set<number> } = {};
+  bulkAddIds: { [key: number]: string } = {};
   private routerSub?: Subscription;
 
   constructor(
@@ -147,6 +166,8 @@ export class Services implements OnInit, OnDestroy {
   loadServices(): void {
     this.isLoading = true;
     this.error = '';
+    this.rosters = {};
+    this.loadJoinedServices();
     this.http.get('/api/public/services').subscribe({
       next: (data: Service[]) => {
         this.availableServices = data || [];
@@ -210,7 +231,8 @@ export class Services implements OnInit, OnDestroy {
     this.newService = {
       name: service.name,
       description: service.description || '',
-      imageUrl: service.imageUrl || ''
+      imageUrl: service.imageUrl || '',
+      imageSrcset: service.imageSrcset || ''
     };
     this.selectedImageFile = null;
     this.imagePreview = service.imageUrl || null;
@@ -220,7 +242,7 @@ export class Services implements OnInit, OnDestroy {
   cancelServiceEdit(): void {
     this.editingService = null;
     this.showServiceForm = false;
-    this.newService = { name: '', description: '', imageUrl: '' };
+    this.newService = { name: '', description: '', imageUrl: '', imageSrcset: '' };
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.formErrors = {};
@@ -255,6 +277,7 @@ export class Services implements OnInit, OnDestroy {
     this.http.uploadImage(this.selectedImageFile).subscribe({
       next: (response: any) => {
         this.newService.imageUrl = response.imageUrl;
+        this.newService.imageSrcset = response.imageSrcset || '';
         this.isUploadingImage = false;
         this.cdr.detectChanges();
       },
@@ -269,6 +292,7 @@ export class Services implements OnInit, OnDestroy {
     this.selectedImageFile = null;
     this.imagePreview = null;
     this.newService.imageUrl = '';
+    this.newService.imageSrcset = '';
   }
 
   saveService(): void {
@@ -350,9 +374,115 @@ export class Services implements OnInit, OnDestroy {
   }
 
   isParticipant(service: Service): boolean {
-    if (!this.http.isLoggedIn() || !service.participants) return false;
-    const user = this.http.getCurrentUser();
-    return user !== null && service.participants.some(p => p.id === user.userId);
+    return this.http.isLoggedIn() && this.joinedServiceIds.has(service.id);
+  }
+
+  loadJoinedServices(): void {
+    if (!this.http.isLoggedIn()) {
+      this.joinedServiceIds = new Set();
+      return;
+    }
+    this.http.get('/api/services/joined').subscribe({
+      next: (ids: number[]) => {
+        this.joinedServiceIds = new Set(ids || []);
+        this.cdr.detectChanges();
+      },
+      error: () => {
+        this.joinedServiceIds = new Set();
+      }
+    });
+  }
+
+  toggleRoster(serviceId: number): void {
+    if (this.rosters[serviceId]) {
+      delete this.rosters[serviceId];
+      return;
+    }
+    this.loadRoster(serviceId);
+  }
+
+  toggleRosterSelection(serviceId: number, userId: number): void {
+    const selection = this.rosterSelection[serviceId] || (this.rosterSelection[serviceId] = new Set());
+    if (selection.has(userId)) {
+      selection.delete(userId);
+    } else {
+      selection.add(userId);
+    }
+  }
+
+  removeSelected(serviceId: number): void {
+    const userIds = Array.from(this.rosterSelection[serviceId] || []);
+    if (userIds.length === 0 || !confirm(`Remove ${userIds.length} selected participant(s)?`)) {
+      return;
+    }
+    this.http.post(`/api/admin/services/${serviceId}/participants/bulk-remove`, { userIds }).subscribe({
+      next: (res: any) => {
+        alert(this.summarizeBulk(res?.results));
+        this.rosterSelection[serviceId] = new Set();
+        this.loadServices();
+        this.loadRoster(serviceId);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to remove participants');
+      }
+    });
+  }
+
+  // Accepts user ids separated by commas, spaces or new lines
+  addByIds(serviceId: number): void {
+    const userIds = (this.bulkAddIds[serviceId] || '')
+      .split(/[\s,]+/)
+      .map(id => Number(id))
+      .filter(id => Number.isInteger(id) && id > 0);
+    if (userIds.length === 0) {
+      alert('Enter at least one user ID');
+      return;
+    }
+    this.http.post(`/api/admin/services/${serviceId}/participants/bulk-add`, { userIds }).subscribe({
+      next: (res: any) => {
+        alert(this.summarizeBulk(res?.results));
+        this.bulkAddIds[serviceId] = '';
+        this.loadServices();
+        this.loadRoster(serviceId);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to add participants');
+      }
+    });
+  }
+
+  private summarizeBulk(results: { status: string }[] = []): string {
+    const counts: { [status: string]: number } = {};
+    results.forEach(r => counts[r.status] = (counts[r.status] || 0) + 1);
+    return Object.entries(counts).map(([status, count]) => `${status.replace(/_/g, ' ').toLowerCase()}: ${count}`).join('\n');
+  }
+
+  exportRoster(serviceId: number): void {
+    this.http.download(`/api/admin/services/${serviceId}/participants.csv`).subscribe({
+      next: (blob: Blob) => {
+        const url = URL.createObjectURL(blob);
+        const link = document.createElement('a');
+        link.href = url;
+        link.download = `service-${serviceId}-participants.csv`;
+        link.click();
+        URL.revokeObjectURL(url);
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to export participants');
+      }
+    });
+  }
+
+  loadRoster(serviceId: number): void {
+    this.http.get(`/api/admin/services/${serviceId}/participants?size=200`).subscribe({
+      next: (data: any) => {
+        this.rosters[serviceId] = Array.isArray(data?.items) ? data.items : [];
+        this.cdr.detectChanges();
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to load participants');
+      }
+    });
   }
 
   joinService(serviceId: number): void {
@@ -410,6 +540,7 @@ export class Services implements OnInit, OnDestroy {
       next: () => {
         alert('Participant removed successfully!');
         this.loadServices();
+        this.loadRoster(serviceId);
       },
       error: (err: any) => {
         alert(err.error?.error || err.message || 'Failed to remove participant');
@@ -466,11 +597,14 @@ export class Services implements OnInit, OnDestroy {
   loadAllApplications(): void {
     if (!this.http.isLoggedIn()) {
       this.allApplications = [];
+      this.appsNextCursor = null;
       return;
     }
-    this.http.get('/api/admin/services/applications').subscribe({
-      next: (data: ServiceApplication[]) => {
-        this.allApplications = Array.isArray(data) ? data : [];
+    this.selectedApplications.clear();
+    this.http.get(this.applicationsUrl(null)).subscribe({
+      next: (data: any) => {
+        this.allApplications = Array.isArray(data?.items) ? data.items : [];
+        this.appsNextCursor = data?.nextCursor || null;
         this.cdr.detectChanges();
       },
       error: (err) => {
@@ -479,11 +613,66 @@ export class Services implements OnInit, OnDestroy {
           console.error('Failed to load all applications', err);
         }
         this.allApplications = [];
+        this.appsNextCursor = null;
         this.cdr.detectChanges();
       }
     });
   }
 
+  loadMoreApplications(): void {
+    if (!this.appsNextCursor || this.appsLoadingMore) return;
+    this.appsLoadingMore = true;
+    this.http.get(this.applicationsUrl(this.appsNextCursor)).subscribe({
+      next: (data: any) => {
+        const items: ServiceApplication[] = Array.isArray(data?.items) ? data.items : [];
+        const known = new Set(this.allApplications.map(a => a.id));
+        this.allApplications = [...this.allApplications, ...items.filter(a => !known.has(a.id))];
+        this.appsNextCursor = data?.nextCursor || null;
+        this.appsLoadingMore = false;
+        this.cdr.detectChanges();
+      },
+      error: () => {
+        this.appsLoadingMore = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  private applicationsUrl(cursor: string | null): string {
+    const params = new URLSearchParams({ size: '20' });
+    if (this.appsStatusFilter) params.set('status', this.appsStatusFilter);
+    if (this.appsTypeFilter) params.set('serviceType', this.appsTypeFilter);
+    if (cursor) params.set('cursor', cursor);
+    return `/api/admin/services/applications?${params.toString()}`;
+  }
+
+  toggleApplicationSelection(applicationId: number): void {
+    if (this.selectedApplications.has(applicationId)) {
+      this.selectedApplications.delete(applicationId);
+    } else {
+      this.selectedApplications.add(applicationId);
+    }
+  }
+
+  // Only pending applications can be approved or rejected in bulk; the rest come back as invalid
+  bulkUpdateStatus(status: string): void {
+    const applicationIds = Array.from(this.selectedApplications);
+    if (applicationIds.length === 0 || !confirm(`Mark ${applicationIds.length} application(s) as ${status}?`)) {
+      return;
+    }
+    this.http.post('/api/admin/services/applications/bulk-status', { applicationIds, status }).subscribe({
+      next: (res: any) => {
+        const results: { result: string }[] = res?.results || [];
+        alert(this.summarizeBulk(results.map(r => ({ status: r.result }))));
+        this.selectedApplications.clear();
+        this.loadAllApplications();
+      },
+      error: (err: any) => {
+        alert(err.error?.error || err.message || 'Failed to update applications');
+      }
+    });
+  }
+
   updateApplicationStatus(applicationId: number, status: string): void {
     this.http.put(`/api/admin/services/applications/${applicationId}/status`, { status }).subscribe({
       next: () => {